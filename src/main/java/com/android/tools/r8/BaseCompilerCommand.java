@@ -44,6 +44,8 @@ public abstract class BaseCompilerCommand extends BaseCommand {
   private final DesugarState desugarState;
   private final boolean includeClassesChecksum;
   private final boolean optimizeMultidexForLinearAlloc;
+  private final Path dexDistributionFile;
+  private final DexSizeReportConsumer dexSizeReportConsumer;
   private final BiPredicate<String, Long> dexClassChecksumFilter;
   private final List<AssertionsConfiguration> assertionsConfiguration;
   private final List<Consumer<Inspector>> outputInspections;
@@ -59,6 +61,8 @@ public abstract class BaseCompilerCommand extends BaseCommand {
     desugarState = DesugarState.ON;
     includeClassesChecksum = false;
     optimizeMultidexForLinearAlloc = false;
+    dexDistributionFile = null;
+    dexSizeReportConsumer = null;
     dexClassChecksumFilter = (name, checksum) -> true;
     assertionsConfiguration = new ArrayList<>();
     outputInspections = null;
@@ -74,6 +78,8 @@ public abstract class BaseCompilerCommand extends BaseCommand {
       Reporter reporter,
       DesugarState desugarState,
       boolean optimizeMultidexForLinearAlloc,
+      Path dexDistributionFile,
+      DexSizeReportConsumer dexSizeReportConsumer,
       boolean includeClassesChecksum,
       BiPredicate<String, Long> dexClassChecksumFilter,
       List<AssertionsConfiguration> assertionsConfiguration,
@@ -89,6 +95,8 @@ public abstract class BaseCompilerCommand extends BaseCommand {
     this.reporter = reporter;
     this.desugarState = desugarState;
     this.optimizeMultidexForLinearAlloc = optimizeMultidexForLinearAlloc;
+    this.dexDistributionFile = dexDistributionFile;
+    this.dexSizeReportConsumer = dexSizeReportConsumer;
     this.includeClassesChecksum = includeClassesChecksum;
     this.dexClassChecksumFilter = dexClassChecksumFilter;
     this.assertionsConfiguration = assertionsConfiguration;
@@ -161,6 +169,19 @@ public abstract class BaseCompilerCommand extends BaseCommand {
     return optimizeMultidexForLinearAlloc;
   }
 
+  /**
+   * Get the file holding the class to dex file assignment of a previous compilation, null if the
+   * classes are distributed without regard to previous compilations.
+   */
+  public Path getDexDistributionFile() {
+    return dexDistributionFile;
+  }
+
+  /** Get the consumer receiving the size report of each dex file, null if not set. */
+  public DexSizeReportConsumer getDexSizeReportConsumer() {
+    return dexSizeReportConsumer;
+  }
+
   public List<AssertionsConfiguration> getAssertionsConfiguration() {
     return Collections.unmodifiableList(assertionsConfiguration);
   }
@@ -203,6 +224,8 @@ public abstract class BaseCompilerCommand extends BaseCommand {
     private boolean includeClassesChecksum = false;
     private boolean lookupLibraryBeforeProgram = true;
     private boolean optimizeMultidexForLinearAlloc = false;
+    private Path dexDistributionFile = null;
+    private DexSizeReportConsumer dexSizeReportConsumer = null;
     private BiPredicate<String, Long> dexClassChecksumFilter = (name, checksum) -> true;
     private List<AssertionsConfiguration> assertionsConfiguration = new ArrayList<>();
     private List<Consumer<Inspector>> outputInspections = new ArrayList<>();
@@ -337,6 +360,52 @@ public abstract class BaseCompilerCommand extends BaseCommand {
       return optimizeMultidexForLinearAlloc;
     }
 
+    /**
+     * Set a file for keeping classes in the same dex file across compilations.
+     *
+     * <p>If the file exists, it must hold the class to dex file assignment written by a previous
+     * compilation. Classes are placed in the dex file they were previously assigned to as long as
+     * that file is not full, and only the remaining classes are distributed as usual. This keeps
+     * the dex files of incremental builds stable when classes are added or removed. After the
+     * compilation, the file is overwritten with the assignment of the current compilation.
+     *
+     * <p>Each line of the file is a dex file index followed by a single space and the original
+     * name of a class placed in that dex file. Has no effect when compiling to class files or to a
+     * dex file per class file, or when legacy multidex partitioning is optimized for LinearAlloc.
+     *
+     * @param dexDistributionFile File-system path to read and write the assignment at.
+     */
+    public B setDexDistributionFile(Path dexDistributionFile) {
+      this.dexDistributionFile = dexDistributionFile;
+      return self();
+    }
+
+    /**
+     * Get the file for keeping classes in the same dex file across compilations, null if not set.
+     */
+    public Path getDexDistributionFile() {
+      return dexDistributionFile;
+    }
+
+    /**
+     * Set a consumer for receiving the size report of each written dex file.
+     *
+     * <p>The report holds the size and item count of each section of the file, the number of items
+     * in each index pool and the bytes of code and class data attributed to each class. Has no
+     * effect when compiling to class files.
+     *
+     * @param dexSizeReportConsumer Consumer to receive the reports, null to not collect reports.
+     */
+    public B setDexSizeReportConsumer(DexSizeReportConsumer dexSizeReportConsumer) {
+      this.dexSizeReportConsumer = dexSizeReportConsumer;
+      return self();
+    }
+
+    /** Get the consumer receiving the size report of each dex file, null if not set. */
+    public DexSizeReportConsumer getDexSizeReportConsumer() {
+      return dexSizeReportConsumer;
+    }
+
     /**
      * Set the program consumer.
      *
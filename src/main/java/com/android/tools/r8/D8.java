@@ -269,9 +269,9 @@ public final class D8 {
       }
       if (options.isGeneratingClassFiles()) {
         // TODO(b/158159959): Move this out so it is shared for both CF and DEX pipelines.
-        SyntheticFinalization.finalize(appView);
+        SyntheticFinalization.finalize(appView, executor);
         new CfApplicationWriter(appView, marker, GraphLens.getIdentityLens(), namingLens, null)
-            .write(options.getClassFileConsumer());
+            .write(options.getClassFileConsumer(), executor);
       } else {
         if (!hasDexResources || !hasClassResources || !appView.rewritePrefix.isRewriting()) {
           // All inputs are either dex or cf, or there is nothing to rewrite.
@@ -313,7 +313,7 @@ public final class D8 {
         }
 
         // TODO(b/158159959): Move this out so it is shared for both CF and DEX pipelines.
-        SyntheticFinalization.finalize(appView);
+        SyntheticFinalization.finalize(appView, executor);
 
         new ApplicationWriter(
                 appView,
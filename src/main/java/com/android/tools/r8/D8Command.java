@@ -303,6 +303,8 @@ public final class D8Command extends BaseCompilerCommand {
           getDesugaringState(),
           intermediate,
           isOptimizeMultidexForLinearAlloc(),
+          getDexDistributionFile(),
+          getDexSizeReportConsumer(),
           getIncludeClassesChecksum(),
           getDexClassChecksumFilter(),
           getDesugarGraphConsumer(),
@@ -383,6 +385,8 @@ public final class D8Command extends BaseCompilerCommand {
       DesugarState enableDesugaring,
       boolean intermediate,
       boolean optimizeMultidexForLinearAlloc,
+      Path dexDistributionFile,
+      DexSizeReportConsumer dexSizeReportConsumer,
       boolean encodeChecksum,
       BiPredicate<String, Long> dexClassChecksumFilter,
       DesugarGraphConsumer desugarGraphConsumer,
@@ -406,6 +410,8 @@ public final class D8Command extends BaseCompilerCommand {
         diagnosticsHandler,
         enableDesugaring,
         optimizeMultidexForLinearAlloc,
+        dexDistributionFile,
+        dexSizeReportConsumer,
         encodeChecksum,
         dexClassChecksumFilter,
         assertionsConfiguration,
@@ -482,6 +488,8 @@ public final class D8Command extends BaseCompilerCommand {
     internal.encodeChecksums = getIncludeClassesChecksum();
     internal.dexClassChecksumFilter = getDexClassChecksumFilter();
     internal.enableInheritanceClassInDexDistributor = isOptimizeMultidexForLinearAlloc();
+    internal.dexDistributionFile = getDexDistributionFile();
+    internal.dexSizeReportConsumer = getDexSizeReportConsumer();
 
     internal.desugaredLibraryConfiguration = libraryConfiguration;
     internal.synthesizedClassPrefix = synthesizedClassPrefix;
@@ -0,0 +1,25 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8;
+
+import com.android.tools.r8.dex.DexSizeReport;
+
+/** Consumer for receiving the size report of each written dex file. */
+@KeepForSubclassing
+public interface DexSizeReportConsumer {
+
+  /**
+   * Callback to receive the size report of a single dex file.
+   *
+   * <p>The consumer is expected not to throw, but instead report any errors via the diagnostics
+   * {@param handler}. If an error is reported via {@param handler} and no exceptions are thrown,
+   * then the compiler guaranties to exit with an error.
+   *
+   * <p>Note: this callback may be called on multiple threads, for different dex files.
+   *
+   * @param report Size report of the dex file with index {@link DexSizeReport#getFileId()}.
+   * @param handler Diagnostics handler for reporting.
+   */
+  void accept(DexSizeReport report, DiagnosticsHandler handler);
+}
@@ -47,6 +47,7 @@ import com.android.tools.r8.utils.FileUtils;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.Reporter;
 import com.android.tools.r8.utils.StringUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
 import com.google.common.collect.Sets;
 import java.io.File;
@@ -62,6 +63,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import java.util.stream.StreamSupport;
@@ -314,7 +316,8 @@ public class GenerateLintFiles {
   private void writeLintFiles(
       AndroidApiLevel compilationApiLevel,
       AndroidApiLevel minApiLevel,
-      SupportedMethods supportedMethods)
+      SupportedMethods supportedMethods,
+      ExecutorService executorService)
       throws Exception {
     // Build a plain text file with the desugared APIs.
     List<String> desugaredApisSignatures = new ArrayList<>();
@@ -360,14 +363,15 @@ public class GenerateLintFiles {
     ClassFileConsumer consumer =
         new ClassFileConsumer.ArchiveConsumer(
             lintFile(compilationApiLevel, minApiLevel, FileUtils.JAR_EXTENSION));
-    writer.write(consumer);
+    writer.write(consumer, executorService);
     consumer.finished(options.reporter);
   }
 
   private void generateLintFiles(
       AndroidApiLevel compilationApiLevel,
       Predicate<AndroidApiLevel> generateForThisMinApiLevel,
-      BiPredicate<AndroidApiLevel, DexEncodedMethod> supportedForMinApiLevel)
+      BiPredicate<AndroidApiLevel, DexEncodedMethod> supportedForMinApiLevel,
+      ExecutorService executorService)
       throws Exception {
     System.out.print("  - generating for min API:");
     for (AndroidApiLevel minApiLevel : AndroidApiLevel.values()) {
@@ -380,22 +384,22 @@ public class GenerateLintFiles {
       SupportedMethods supportedMethods =
           collectSupportedMethods(
               compilationApiLevel, (method -> supportedForMinApiLevel.test(minApiLevel, method)));
-      writeLintFiles(compilationApiLevel, minApiLevel, supportedMethods);
+      writeLintFiles(compilationApiLevel, minApiLevel, supportedMethods, executorService);
     }
     System.out.println();
   }
 
-  private void run() throws Exception {
+  private void run(ExecutorService executorService) throws Exception {
     // Run over all the API levels that the desugared library can be compiled with.
     for (int apiLevel = AndroidApiLevel.LATEST.getLevel();
         apiLevel >= desugaredLibraryConfiguration.getRequiredCompilationApiLevel().getLevel();
         apiLevel--) {
       System.out.println("Generating lint files for compile API " + apiLevel);
-      run(apiLevel);
+      run(apiLevel, executorService);
     }
   }
 
-  public void run(int apiLevel) throws Exception {
+  public void run(int apiLevel, ExecutorService executorService) throws Exception {
     generateLintFiles(
         AndroidApiLevel.getAndroidApiLevel(apiLevel),
         minApiLevel -> minApiLevel == AndroidApiLevel.L || minApiLevel == AndroidApiLevel.B,
@@ -406,7 +410,8 @@ public class GenerateLintFiles {
           }
           assert minApiLevel == AndroidApiLevel.B;
           return !parallelMethods.contains(method.getReference());
-        });
+        },
+        executorService);
   }
 
   private static class StringBuilderWithIndent {
@@ -788,7 +793,12 @@ public class GenerateLintFiles {
 
   public static void main(String[] args) throws Exception {
     if (args.length == 3) {
-      new GenerateLintFiles(args[0], args[1], args[2]).run();
+      ExecutorService executorService = ThreadUtils.getExecutorService(ThreadUtils.NOT_SPECIFIED);
+      try {
+        new GenerateLintFiles(args[0], args[1], args[2]).run(executorService);
+      } finally {
+        executorService.shutdown();
+      }
       return;
     }
     if (args.length == 4 && args[0].equals("--generate-api-docs")) {
@@ -105,6 +105,8 @@ public final class L8Command extends BaseCompilerCommand {
         diagnosticsHandler,
         DesugarState.ON,
         false,
+        null,
+        null,
         encodeChecksum,
         dexClassChecksumFilter,
         assertionsConfiguration,
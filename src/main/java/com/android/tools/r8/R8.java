@@ -229,7 +229,7 @@ public class R8 {
       markers.remove(marker);
       if (options.isGeneratingClassFiles()) {
         new CfApplicationWriter(appView, marker, graphLens, namingLens, proguardMapSupplier)
-            .write(options.getClassFileConsumer());
+            .write(options.getClassFileConsumer(), executorService);
       } else {
         new ApplicationWriter(
                 appView,
@@ -500,7 +500,7 @@ public class R8 {
           timing.begin("HorizontalClassMerger");
           HorizontalClassMerger merger = new HorizontalClassMerger(appViewWithLiveness);
           HorizontalClassMergerResult horizontalClassMergerResult =
-              merger.run(runtimeTypeCheckInfo, timing);
+              merger.run(runtimeTypeCheckInfo, executorService, timing);
           if (horizontalClassMergerResult != null) {
             // Must rewrite AppInfoWithLiveness before pruning the merged classes, to ensure that
             // allocations sites, fields accesses, etc. are correctly transferred to the target
@@ -718,9 +718,9 @@ public class R8 {
       }
 
       if (appView.appInfo().hasLiveness()) {
-        SyntheticFinalization.finalizeWithLiveness(appView.withLiveness());
+        SyntheticFinalization.finalizeWithLiveness(appView.withLiveness(), executorService);
       } else {
-        SyntheticFinalization.finalizeWithClassHierarchy(appView);
+        SyntheticFinalization.finalizeWithClassHierarchy(appView, executorService);
       }
 
       // Perform minification.
@@ -3,6 +3,7 @@
 // BSD-style license that can be found in the LICENSE file.
 package com.android.tools.r8;
 
+import static com.android.tools.r8.utils.ExceptionUtils.unwrapExecutionException;
 import static com.android.tools.r8.utils.InternalOptions.DETERMINISTIC_DEBUGGING;
 
 import com.android.tools.r8.AssertionsConfiguration.AssertionTransformation;
@@ -45,6 +46,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -468,6 +471,23 @@ public final class R8Command extends BaseCompilerCommand {
       return makeR8Command();
     }
 
+    private void parseProguardConfigurations(
+        ProguardConfigurationParser parser, List<ProguardConfigurationSource> sources) {
+      if (sources.size() == 1) {
+        parser.parse(sources);
+        return;
+      }
+      // Parse the sources concurrently. The parser adds them to the configuration in order.
+      ExecutorService executorService = ThreadUtils.getExecutorService(getThreadCount());
+      try {
+        parser.parse(sources, executorService);
+      } catch (ExecutionException e) {
+        throw unwrapExecutionException(e);
+      } finally {
+        executorService.shutdown();
+      }
+    }
+
     private R8Command makeR8Command() {
       Reporter reporter = getReporter();
       DexItemFactory factory = new DexItemFactory();
@@ -480,7 +500,7 @@ public final class R8Command extends BaseCompilerCommand {
       ProguardConfigurationParser parser =
           new ProguardConfigurationParser(factory, reporter, allowTestProguardOptions);
       if (!proguardConfigs.isEmpty()) {
-        parser.parse(proguardConfigs);
+        parseProguardConfigurations(parser, proguardConfigs);
       }
       ProguardConfiguration.Builder configurationBuilder = parser.getConfigurationBuilder();
       configurationBuilder.setForceProguardCompatibility(forceProguardCompatibility);
@@ -493,6 +513,7 @@ public final class R8Command extends BaseCompilerCommand {
       }
 
       // Process Proguard configurations supplied through data resources in the input.
+      List<ProguardConfigurationSource> embeddedProguardConfigurations = new ArrayList<>();
       DataResourceProvider.Visitor embeddedProguardConfigurationVisitor =
           new DataResourceProvider.Visitor() {
             @Override
@@ -504,9 +525,8 @@ public final class R8Command extends BaseCompilerCommand {
             public void visit(DataEntryResource resource) {
               if (resource.getName().startsWith("META-INF/proguard/")) {
                 try (InputStream in = resource.getByteStream()) {
-                  ProguardConfigurationSource source =
-                      new ProguardConfigurationSourceBytes(in, resource.getOrigin());
-                  parser.parse(source);
+                  embeddedProguardConfigurations.add(
+                      new ProguardConfigurationSourceBytes(in, resource.getOrigin()));
                 } catch (ResourceException e) {
                   reporter.error(new StringDiagnostic("Failed to open input: " + e.getMessage(),
                       resource.getOrigin()));
@@ -528,6 +548,13 @@ public final class R8Command extends BaseCompilerCommand {
                   reporter.error(new ExceptionDiagnostic(e));
                 }
               });
+      if (!embeddedProguardConfigurations.isEmpty()) {
+        try {
+          parseProguardConfigurations(parser, embeddedProguardConfigurations);
+        } catch (Exception e) {
+          reporter.error(new ExceptionDiagnostic(e));
+        }
+      }
 
       if (disableTreeShaking) {
         configurationBuilder.disableShrinking();
@@ -576,6 +603,8 @@ public final class R8Command extends BaseCompilerCommand {
               mainDexKeptGraphConsumer,
               syntheticProguardRulesConsumer,
               isOptimizeMultidexForLinearAlloc(),
+              getDexDistributionFile(),
+              getDexSizeReportConsumer(),
               getIncludeClassesChecksum(),
               getDexClassChecksumFilter(),
               desugaredLibraryKeepRuleConsumer,
@@ -741,6 +770,8 @@ public final class R8Command extends BaseCompilerCommand {
       GraphConsumer mainDexKeptGraphConsumer,
       Consumer<List<ProguardConfigurationRule>> syntheticProguardRulesConsumer,
       boolean optimizeMultidexForLinearAlloc,
+      Path dexDistributionFile,
+      DexSizeReportConsumer dexSizeReportConsumer,
       boolean encodeChecksum,
       BiPredicate<String, Long> dexClassChecksumFilter,
       StringConsumer desugaredLibraryKeepRuleConsumer,
@@ -760,6 +791,8 @@ public final class R8Command extends BaseCompilerCommand {
         reporter,
         enableDesugaring,
         optimizeMultidexForLinearAlloc,
+        dexDistributionFile,
+        dexSizeReportConsumer,
         encodeChecksum,
         dexClassChecksumFilter,
         assertionsConfiguration,
@@ -946,6 +979,8 @@ public final class R8Command extends BaseCompilerCommand {
     }
 
     internal.enableInheritanceClassInDexDistributor = isOptimizeMultidexForLinearAlloc();
+    internal.dexDistributionFile = getDexDistributionFile();
+    internal.dexSizeReportConsumer = getDexSizeReportConsumer();
 
     internal.desugaredLibraryConfiguration = libraryConfiguration;
     internal.synthesizedClassPrefix = synthesizedClassPrefix;
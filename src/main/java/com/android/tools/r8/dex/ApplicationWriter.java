@@ -288,16 +288,27 @@ public class ApplicationWriter {
 
       TimingMerger merger =
           timing.beginMerger("Write files", ThreadUtils.getNumberOfThreads(executorService));
-      Collection<Timing> timings =
-          ThreadUtils.processItemsWithResults(
-              virtualFiles,
-              virtualFile -> {
-                Timing fileTiming = Timing.create("VirtualFile " + virtualFile.getId(), options);
-                writeVirtualFile(virtualFile, fileTiming);
-                fileTiming.end();
-                return fileTiming;
-              },
-              executorService);
+      Collection<Timing> timings;
+      if (virtualFiles.size() == 1) {
+        // With a single output file there is no parallelism across files, so let the file writer
+        // use the executor for encoding the items within the file instead.
+        VirtualFile virtualFile = virtualFiles.get(0);
+        Timing fileTiming = Timing.create("VirtualFile " + virtualFile.getId(), options);
+        writeVirtualFile(virtualFile, fileTiming, executorService);
+        fileTiming.end();
+        timings = ImmutableList.of(fileTiming);
+      } else {
+        timings =
+            ThreadUtils.processItemsWithResults(
+                virtualFiles,
+                virtualFile -> {
+                  Timing fileTiming = Timing.create("VirtualFile " + virtualFile.getId(), options);
+                  writeVirtualFile(virtualFile, fileTiming, null);
+                  fileTiming.end();
+                  return fileTiming;
+                },
+                executorService);
+      }
       merger.add(timings);
       merger.end();
       // A consumer can manage the generated keep rules.
@@ -314,7 +325,9 @@ public class ApplicationWriter {
     }
   }
 
-  private void writeVirtualFile(VirtualFile virtualFile, Timing timing) {
+  private void writeVirtualFile(
+      VirtualFile virtualFile, Timing timing, ExecutorService executorService)
+      throws ExecutionException {
     if (virtualFile.isEmpty()) {
       return;
     }
@@ -346,7 +359,9 @@ public class ApplicationWriter {
         rewriteCodeWithJumboStrings(objectMapping, virtualFile.classes(), appView.appInfo().app());
     timing.end();
     timing.begin("Write bytes");
-    ByteBufferResult result = writeDexFile(objectMapping, codeMapping, byteBufferProvider);
+    ByteBufferResult result =
+        writeDexFile(
+            virtualFile.getId(), objectMapping, codeMapping, byteBufferProvider, executorService);
     ByteDataView data =
         new ByteDataView(result.buffer.array(), result.buffer.arrayOffset(), result.length);
     timing.end();
@@ -667,9 +682,12 @@ public class ApplicationWriter {
   }
 
   private ByteBufferResult writeDexFile(
+      int fileId,
       ObjectToOffsetMapping objectMapping,
       MethodToCodeObjectMapping codeMapping,
-      ByteBufferProvider provider) {
+      ByteBufferProvider provider,
+      ExecutorService executorService)
+      throws ExecutionException {
     FileWriter fileWriter =
         new FileWriter(
             provider,
@@ -682,7 +700,11 @@ public class ApplicationWriter {
     // Collect the non-fixed sections.
     fileWriter.collect();
     // Generate and write the bytes.
-    return fileWriter.generate();
+    ByteBufferResult result = fileWriter.generate(executorService);
+    if (options.dexSizeReportConsumer != null) {
+      options.dexSizeReportConsumer.accept(fileWriter.getSizeReport(fileId), options.reporter);
+    }
+    return result;
   }
 
   private static String mapMainDexListName(DexType type, NamingLens namingLens) {
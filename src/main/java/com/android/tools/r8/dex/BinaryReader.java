@@ -10,6 +10,7 @@ import com.android.tools.r8.origin.Origin;
 import com.android.tools.r8.utils.LebUtils;
 import com.android.tools.r8.utils.StreamUtils;
 import java.io.IOException;
+import java.nio.ShortBuffer;
 
 /**
  * Base class for reading binary content.
@@ -40,6 +41,26 @@ public abstract class BinaryReader {
     return result;
   }
 
+  /**
+   * Returns a view of the next {@code size} shorts without copying them and advances the position
+   * past them.
+   */
+  ShortBuffer getShortBufferView(int size) {
+    ShortBuffer result = buffer.asShortBuffer();
+    buffer.position(buffer.position() + 2 * size);
+    return result;
+  }
+
+  /** Returns the number of bytes from the current position up to the next zero byte. */
+  int lengthUntilZeroByte() {
+    int start = buffer.position();
+    int end = start;
+    while (buffer.get(end) != 0) {
+      end++;
+    }
+    return end - start;
+  }
+
   int getUleb128() {
     return LebUtils.parseUleb128(this);
   }
@@ -0,0 +1,231 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import com.android.tools.r8.graph.AppView;
+import com.android.tools.r8.graph.DexCallSite;
+import com.android.tools.r8.graph.DexField;
+import com.android.tools.r8.graph.DexMethod;
+import com.android.tools.r8.graph.DexMethodHandle;
+import com.android.tools.r8.graph.DexProgramClass;
+import com.android.tools.r8.graph.DexProto;
+import com.android.tools.r8.graph.DexString;
+import com.android.tools.r8.graph.DexType;
+import com.android.tools.r8.graph.GraphLens;
+import com.android.tools.r8.graph.InitClassLens;
+import com.android.tools.r8.ir.conversion.LensCodeRewriterUtils;
+import com.android.tools.r8.naming.NamingLens;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the indexed items directly referenced by each program class, used while distributing
+ * the classes of an application over dex files.
+ *
+ * <p>Distributing classes over dex files may tentatively add the same class to several files
+ * before it is committed to one of them. Instead of walking the class and all of its code for
+ * each attempt, the items that the class references directly are collected once. Adding the class
+ * to a file then only collects these items and their dependencies, which stops at items that are
+ * already in the file like walking the class does.
+ *
+ * <p>All files sharing the cache also share the code rewriter, such that rewritten call sites
+ * recorded in a footprint are identical to the ones looked up when writing the file.
+ */
+class ClassFootprintCache {
+
+  private final GraphLens graphLens;
+  private final InitClassLens initClassLens;
+  private final NamingLens namingLens;
+  private final LensCodeRewriterUtils rewriter;
+
+  private final Map<DexProgramClass, ClassFootprint> footprints = new ConcurrentHashMap<>();
+
+  ClassFootprintCache(
+      AppView<?> appView,
+      GraphLens graphLens,
+      InitClassLens initClassLens,
+      NamingLens namingLens) {
+    this.graphLens = graphLens;
+    this.initClassLens = initClassLens;
+    this.namingLens = namingLens;
+    this.rewriter = new LensCodeRewriterUtils(appView, true);
+  }
+
+  LensCodeRewriterUtils getRewriter() {
+    return rewriter;
+  }
+
+  ClassFootprint getFootprint(DexProgramClass clazz) {
+    ClassFootprint footprint = footprints.get(clazz);
+    if (footprint == null) {
+      // Computed outside the map to avoid blocking other threads on the same bin. Concurrent
+      // computations for the same class give equal results, so either one can be kept.
+      footprint = computeFootprint(clazz);
+      ClassFootprint existing = footprints.putIfAbsent(clazz, footprint);
+      if (existing != null) {
+        footprint = existing;
+      }
+    }
+    return footprint;
+  }
+
+  /** Releases the recorded footprints once the classes have been distributed. */
+  void clear() {
+    footprints.clear();
+  }
+
+  private ClassFootprint computeFootprint(DexProgramClass clazz) {
+    FootprintCollector collector = new FootprintCollector(clazz);
+    clazz.collectIndexedItems(collector, graphLens, rewriter);
+    return new ClassFootprint(collector);
+  }
+
+  /** The indexed items that a class references directly. */
+  static class ClassFootprint {
+
+    private final DexProgramClass clazz;
+    private final DexField[] fields;
+    private final DexMethod[] methods;
+    private final DexProto[] protos;
+    private final DexType[] types;
+    private final DexString[] strings;
+    private final DexCallSite[] callSites;
+    private final DexMethodHandle[] methodHandles;
+
+    private ClassFootprint(FootprintCollector collector) {
+      clazz = collector.clazz;
+      fields = collector.fields.toArray(new DexField[0]);
+      methods = collector.methods.toArray(new DexMethod[0]);
+      protos = collector.protos.toArray(new DexProto[0]);
+      types = collector.types.toArray(DexType.EMPTY_ARRAY);
+      strings = collector.strings.toArray(DexString.EMPTY_ARRAY);
+      callSites = collector.callSites.toArray(new DexCallSite[0]);
+      methodHandles = collector.methodHandles.toArray(new DexMethodHandle[0]);
+    }
+
+    void addTo(IndexedItemCollection collection) {
+      if (!collection.addClass(clazz)) {
+        return;
+      }
+      for (DexField field : fields) {
+        field.collectIndexedItems(collection);
+      }
+      for (DexMethod method : methods) {
+        method.collectIndexedItems(collection);
+      }
+      for (DexProto proto : protos) {
+        proto.collectIndexedItems(collection);
+      }
+      for (DexType type : types) {
+        type.collectIndexedItems(collection);
+      }
+      for (DexString string : strings) {
+        string.collectIndexedItems(collection);
+      }
+      for (DexCallSite callSite : callSites) {
+        callSite.collectIndexedItems(collection);
+      }
+      for (DexMethodHandle methodHandle : methodHandles) {
+        methodHandle.collectIndexedItems(collection);
+      }
+    }
+  }
+
+  /**
+   * Records the items referenced by a single class without collecting their dependencies, by
+   * reporting every item other than the class itself as already present.
+   */
+  private class FootprintCollector implements IndexedItemCollection {
+
+    private final DexProgramClass clazz;
+
+    private final Set<DexField> fields = new LinkedHashSet<>();
+    private final Set<DexMethod> methods = new LinkedHashSet<>();
+    private final Set<DexProto> protos = new LinkedHashSet<>();
+    private final Set<DexType> types = new LinkedHashSet<>();
+    private final Set<DexString> strings = new LinkedHashSet<>();
+    private final Set<DexCallSite> callSites = new LinkedHashSet<>();
+    private final Set<DexMethodHandle> methodHandles = new LinkedHashSet<>();
+
+    private FootprintCollector(DexProgramClass clazz) {
+      this.clazz = clazz;
+    }
+
+    @Override
+    public boolean addClass(DexProgramClass dexProgramClass) {
+      assert dexProgramClass == clazz;
+      return true;
+    }
+
+    @Override
+    public boolean addField(DexField field) {
+      fields.add(field);
+      return false;
+    }
+
+    @Override
+    public boolean addMethod(DexMethod method) {
+      methods.add(method);
+      return false;
+    }
+
+    @Override
+    public boolean addString(DexString string) {
+      strings.add(string);
+      return false;
+    }
+
+    @Override
+    public boolean addProto(DexProto proto) {
+      protos.add(proto);
+      return false;
+    }
+
+    @Override
+    public boolean addType(DexType type) {
+      types.add(type);
+      return false;
+    }
+
+    @Override
+    public boolean addCallSite(DexCallSite callSite) {
+      callSites.add(callSite);
+      return false;
+    }
+
+    @Override
+    public boolean addMethodHandle(DexMethodHandle methodHandle) {
+      methodHandles.add(methodHandle);
+      return false;
+    }
+
+    @Override
+    public GraphLens getGraphLens() {
+      return graphLens;
+    }
+
+    @Override
+    public InitClassLens getInitClassLens() {
+      return initClassLens;
+    }
+
+    @Override
+    public DexString getRenamedDescriptor(DexType type) {
+      return namingLens.lookupDescriptor(type);
+    }
+
+    @Override
+    public DexString getRenamedName(DexMethod method) {
+      assert namingLens.verifyRenamingConsistentWithResolution(method);
+      return namingLens.lookupName(method);
+    }
+
+    @Override
+    public DexString getRenamedName(DexField field) {
+      return namingLens.lookupName(field);
+    }
+  }
+}
@@ -9,8 +9,10 @@ import com.android.tools.r8.errors.CompilationError;
 import com.android.tools.r8.graph.DexCode;
 import com.android.tools.r8.graph.DexField;
 import com.android.tools.r8.graph.DexMethod;
+import com.android.tools.r8.graph.GraphLens;
 import com.android.tools.r8.graph.ObjectToOffsetMapping;
 import com.android.tools.r8.graph.ProgramMethod;
+import com.android.tools.r8.ir.conversion.LensCodeRewriterUtils;
 import com.android.tools.r8.utils.EncodedValueUtils;
 import com.android.tools.r8.utils.LebUtils;
 import com.google.common.annotations.VisibleForTesting;
@@ -107,28 +109,37 @@ public class DexOutputBuffer {
     ensureSpaceFor(size * Short.BYTES);
     assert byteBuffer.position() % 2 == 0;
     ShortBuffer shortBuffer = byteBuffer.asShortBuffer();
+    GraphLens graphLens = mapping.getGraphLens();
+    LensCodeRewriterUtils rewriter = mapping.getLensCodeRewriter();
+    // Only pay for inspecting the references of each instruction if they need to be recorded.
+    boolean recordReferences = !desugaredLibraryCodeToKeep.isNop();
     for (int i = 0; i < instructions.length; i++) {
       Instruction insn = instructions[i];
-      DexMethod method = insn.getMethod();
-      DexField field = insn.getField();
-      if (field != null) {
-        assert method == null;
-        desugaredLibraryCodeToKeep.recordField(field);
-      } else if (method != null) {
-        desugaredLibraryCodeToKeep.recordMethod(method);
-      } else if (insn.isConstClass()) {
-        desugaredLibraryCodeToKeep.recordClass(insn.asConstClass().getType());
-      } else if (insn.isInstanceOf()) {
-        desugaredLibraryCodeToKeep.recordClass(insn.asInstanceOf().getType());
-      } else if (insn.isCheckCast()) {
-        desugaredLibraryCodeToKeep.recordClass(insn.asCheckCast().getType());
+      if (recordReferences) {
+        recordReferences(insn, desugaredLibraryCodeToKeep);
       }
-      insn.write(
-          shortBuffer, context, mapping.getGraphLens(), mapping, mapping.getLensCodeRewriter());
+      insn.write(shortBuffer, context, graphLens, mapping, rewriter);
     }
     byteBuffer.position(byteBuffer.position() + shortBuffer.position() * Short.BYTES);
   }
 
+  private static void recordReferences(Instruction insn, CodeToKeep desugaredLibraryCodeToKeep) {
+    DexMethod method = insn.getMethod();
+    DexField field = insn.getField();
+    if (field != null) {
+      assert method == null;
+      desugaredLibraryCodeToKeep.recordField(field);
+    } else if (method != null) {
+      desugaredLibraryCodeToKeep.recordMethod(method);
+    } else if (insn.isConstClass()) {
+      desugaredLibraryCodeToKeep.recordClass(insn.asConstClass().getType());
+    } else if (insn.isInstanceOf()) {
+      desugaredLibraryCodeToKeep.recordClass(insn.asInstanceOf().getType());
+    } else if (insn.isCheckCast()) {
+      desugaredLibraryCodeToKeep.recordClass(insn.asCheckCast().getType());
+    }
+  }
+
   public void putByte(byte aByte) {
     ensureSpaceFor(Byte.BYTES);
     byteBuffer.put(aByte);
@@ -70,7 +70,6 @@ import it.unimi.dsi.fastutil.ints.Int2IntArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ShortBuffer;
@@ -640,19 +639,22 @@ public class DexParser<T extends DexClass> {
         }
       }
       DexAnnotationSet fieldAnnotations = annotationIterator.getNextFor(field);
-      FieldTypeSignature fieldTypeSignature = FieldTypeSignature.noSignature();
+      Supplier<FieldTypeSignature> fieldSignatureParser = null;
       if (!options.passthroughDexCode) {
         String fieldSignature = DexAnnotation.getSignature(fieldAnnotations, dexItemFactory);
         if (fieldSignature != null) {
           fieldAnnotations = fieldAnnotations.getWithout(dexItemFactory.annotationSignature);
-          fieldTypeSignature =
-              GenericSignature.parseFieldTypeSignature(
+          fieldSignatureParser =
+              GenericSignature.lazyParseFieldTypeSignature(
                   field.name.toString(), fieldSignature, origin, dexItemFactory, options.reporter);
         }
       }
       fields[i] =
           new DexEncodedField(
-              field, accessFlags, fieldTypeSignature, fieldAnnotations, staticValue);
+              field, accessFlags, FieldTypeSignature.noSignature(), fieldAnnotations, staticValue);
+      if (fieldSignatureParser != null) {
+        fields[i].setLazyGenericSignature(fieldSignatureParser);
+      }
     }
     return fields;
   }
@@ -681,13 +683,13 @@ public class DexParser<T extends DexClass> {
       DexMethod method = indexedItems.getMethod(methodIndex);
       accessFlags.setConstructor(method, dexItemFactory);
       DexAnnotationSet methodAnnotations = annotationIterator.getNextFor(method);
-      MethodTypeSignature methodTypeSignature = MethodTypeSignature.noSignature();
+      Supplier<MethodTypeSignature> methodSignatureParser = null;
       if (!options.passthroughDexCode) {
         String methodSignature = DexAnnotation.getSignature(methodAnnotations, dexItemFactory);
         if (methodSignature != null) {
           methodAnnotations = methodAnnotations.getWithout(dexItemFactory.annotationSignature);
-          methodTypeSignature =
-              GenericSignature.parseMethodSignature(
+          methodSignatureParser =
+              GenericSignature.lazyParseMethodSignature(
                   method.name.toString(),
                   methodSignature,
                   origin,
@@ -699,10 +701,13 @@ public class DexParser<T extends DexClass> {
           new DexEncodedMethod(
               method,
               accessFlags,
-              methodTypeSignature,
+              MethodTypeSignature.noSignature(),
               methodAnnotations,
               parameterAnnotationsIterator.getNextFor(method),
               code);
+      if (methodSignatureParser != null) {
+        methods[i].setLazyGenericSignature(methodSignatureParser);
+      }
     }
     return methods;
   }
@@ -894,14 +899,13 @@ public class DexParser<T extends DexClass> {
     int triesSize = dexReader.getUshort();
     int debugInfoOff = dexReader.getUint();
     int insnsSize = dexReader.getUint();
-    short[] code = new short[insnsSize];
+    ShortBuffer code = null;
     Try[] tries = new Try[triesSize];
     TryHandler[] handlers = new TryHandler[0];
 
     if (insnsSize != 0) {
-      for (int i = 0; i < insnsSize; i++) {
-        code[i] = dexReader.getShort();
-      }
+      // Decode directly from the underlying dex buffer instead of copying the insns to a short[].
+      code = dexReader.getShortBufferView(insnsSize);
       if (insnsSize % 2 != 0) {
         dexReader.getUshort();  // Skip padding ushort
       }
@@ -952,7 +956,9 @@ public class DexParser<T extends DexClass> {
     dexReader.position(saved);
     InstructionFactory factory = new InstructionFactory();
     Instruction[] instructions =
-        factory.readSequenceFrom(ShortBuffer.wrap(code), 0, code.length, indexedItems);
+        insnsSize == 0
+            ? Instruction.EMPTY_ARRAY
+            : factory.readSequenceFrom(code, 0, insnsSize, indexedItems);
     return new DexCode(registerSize, insSize, outsSize, instructions, tries, handlers, debugInfo);
   }
 
@@ -1201,13 +1207,9 @@ public class DexParser<T extends DexClass> {
     final int offset = stringIDs[index];
     dexReader.position(offset);
     int size = dexReader.getUleb128();
-    ByteArrayOutputStream os = new ByteArrayOutputStream();
-    byte read;
-    do {
-      read = dexReader.get();
-      os.write(read);
-    } while (read != 0);
-    return dexItemFactory.createString(size, os.toByteArray());
+    // Copy the MUTF-8 content including the terminating zero byte in one go.
+    byte[] content = dexReader.getByteArray(dexReader.lengthUntilZeroByte() + 1);
+    return dexItemFactory.createString(size, content);
   }
 
   private DexType typeAt(int index) {
@@ -0,0 +1,267 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import com.android.tools.r8.Keep;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Size information for a single written dex file.
+ *
+ * <p>The report is collected while the file is written and contains the byte size and item count
+ * of each section, the number of items in each index pool together with the remaining headroom for
+ * the pools that are limited by 16 bit indices, and the bytes of code and class data attributed to
+ * each class.
+ *
+ * <p>The sizes attributed to a class do not include the alignment padding between items. The
+ * padding of the code and class data sections is reported separately, such that the sizes of all
+ * classes and the padding add up to the size of the section.
+ */
+@Keep
+public class DexSizeReport {
+
+  public static final String STRINGS = "strings";
+  public static final String TYPES = "types";
+  public static final String PROTOS = "protos";
+  public static final String FIELDS = "fields";
+  public static final String METHODS = "methods";
+  public static final String CLASSES = "classes";
+  public static final String CALL_SITES = "callSites";
+  public static final String METHOD_HANDLES = "methodHandles";
+
+  public static final String CODE_SECTION = "code_item";
+  public static final String CLASS_DATA_SECTION = "class_data_item";
+
+  @Keep
+  public static class Section {
+
+    private final String name;
+    private final int offset;
+    private final int size;
+    private final int itemCount;
+
+    private Section(String name, int offset, int size, int itemCount) {
+      this.name = name;
+      this.offset = offset;
+      this.size = size;
+      this.itemCount = itemCount;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getOffset() {
+      return offset;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public int getItemCount() {
+      return itemCount;
+    }
+  }
+
+  @Keep
+  public static class ClassSize {
+
+    private int codeSize;
+    private int classDataSize;
+
+    /** The bytes of the code items of the methods of the class, excluding alignment padding. */
+    public int getCodeSize() {
+      return codeSize;
+    }
+
+    /** The bytes of the class data item of the class. */
+    public int getClassDataSize() {
+      return classDataSize;
+    }
+  }
+
+  private final int fileId;
+  private final int fileSize;
+  private final List<Section> sections;
+  private final Map<String, Integer> poolSizes;
+  private final Map<String, ClassSize> classSizes;
+  private final int codePaddingSize;
+  private final int classDataPaddingSize;
+
+  private DexSizeReport(
+      int fileId,
+      int fileSize,
+      List<Section> sections,
+      Map<String, Integer> poolSizes,
+      Map<String, ClassSize> classSizes,
+      int codePaddingSize,
+      int classDataPaddingSize) {
+    this.fileId = fileId;
+    this.fileSize = fileSize;
+    this.sections = sections;
+    this.poolSizes = poolSizes;
+    this.classSizes = classSizes;
+    this.codePaddingSize = codePaddingSize;
+    this.classDataPaddingSize = classDataPaddingSize;
+  }
+
+  public int getFileId() {
+    return fileId;
+  }
+
+  public int getFileSize() {
+    return fileSize;
+  }
+
+  /** The non-empty sections of the file in the order they appear in the file. */
+  public List<Section> getSections() {
+    return sections;
+  }
+
+  /** The number of items in each index pool, keyed by pool name. */
+  public Map<String, Integer> getPoolSizes() {
+    return poolSizes;
+  }
+
+  /** The number of entries that can still be added to a pool indexed by a 16 bit value. */
+  public int getHeadroom(String pool) {
+    return VirtualFile.MAX_ENTRIES - poolSizes.getOrDefault(pool, 0);
+  }
+
+  /** The sizes attributed to each class, keyed by the class descriptor used in the file. */
+  public Map<String, ClassSize> getClassSizes() {
+    return classSizes;
+  }
+
+  /**
+   * The bytes of the {@link #CODE_SECTION} section that are alignment padding. Together with the
+   * code sizes of all classes this adds up to the size of the section.
+   */
+  public int getCodePaddingSize() {
+    return codePaddingSize;
+  }
+
+  /**
+   * The bytes of the {@link #CLASS_DATA_SECTION} section that are alignment padding. Together with
+   * the class data sizes of all classes this adds up to the size of the section.
+   */
+  public int getClassDataPaddingSize() {
+    return classDataPaddingSize;
+  }
+
+  public String toJsonString() {
+    JsonObject json = new JsonObject();
+    json.addProperty("file", fileId);
+    json.addProperty("size", fileSize);
+    JsonArray sectionsJson = new JsonArray();
+    for (Section section : sections) {
+      JsonObject sectionJson = new JsonObject();
+      sectionJson.addProperty("name", section.name);
+      sectionJson.addProperty("offset", section.offset);
+      sectionJson.addProperty("size", section.size);
+      sectionJson.addProperty("items", section.itemCount);
+      sectionsJson.add(sectionJson);
+    }
+    json.add("sections", sectionsJson);
+    JsonObject poolsJson = new JsonObject();
+    poolSizes.forEach(poolsJson::addProperty);
+    json.add("pools", poolsJson);
+    JsonObject headroomJson = new JsonObject();
+    for (String pool : new String[] {TYPES, FIELDS, METHODS}) {
+      headroomJson.addProperty(pool, getHeadroom(pool));
+    }
+    json.add("headroom", headroomJson);
+    JsonObject classesJson = new JsonObject();
+    classSizes.forEach(
+        (descriptor, classSize) -> {
+          JsonObject classJson = new JsonObject();
+          classJson.addProperty("code", classSize.codeSize);
+          classJson.addProperty("classData", classSize.classDataSize);
+          classesJson.add(descriptor, classJson);
+        });
+    json.add("classes", classesJson);
+    JsonObject paddingJson = new JsonObject();
+    paddingJson.addProperty(CODE_SECTION, codePaddingSize);
+    paddingJson.addProperty(CLASS_DATA_SECTION, classDataPaddingSize);
+    json.add("padding", paddingJson);
+    return json.toString();
+  }
+
+  static class Builder {
+
+    private final List<Section> sections = new ArrayList<>();
+    private final Map<String, Integer> poolSizes = new TreeMap<>();
+    private final Map<String, ClassSize> classSizes = new TreeMap<>();
+    private int fileSize = -1;
+
+    void setFileSize(int fileSize) {
+      this.fileSize = fileSize;
+    }
+
+    void addSection(String name, int offset, int itemCount) {
+      if (itemCount > 0) {
+        // The size is only known once the offset of the next section is known.
+        sections.add(new Section(name, offset, -1, itemCount));
+      }
+    }
+
+    void setPoolSize(String pool, int size) {
+      poolSizes.put(pool, size);
+    }
+
+    void addCodeSize(String descriptor, int size) {
+      classSizes.computeIfAbsent(descriptor, ignore -> new ClassSize()).codeSize += size;
+    }
+
+    void addClassDataSize(String descriptor, int size) {
+      classSizes.computeIfAbsent(descriptor, ignore -> new ClassSize()).classDataSize += size;
+    }
+
+    DexSizeReport build(int fileId) {
+      assert fileSize >= 0;
+      List<Section> sortedSections = new ArrayList<>(sections);
+      sortedSections.sort(Comparator.comparingInt(Section::getOffset));
+      List<Section> result = new ArrayList<>(sortedSections.size());
+      int codeSectionSize = 0;
+      int classDataSectionSize = 0;
+      for (int i = 0; i < sortedSections.size(); i++) {
+        Section section = sortedSections.get(i);
+        int end = i + 1 < sortedSections.size() ? sortedSections.get(i + 1).offset : fileSize;
+        int size = end - section.offset;
+        result.add(new Section(section.name, section.offset, size, section.itemCount));
+        if (section.name.equals(CODE_SECTION)) {
+          codeSectionSize = size;
+        } else if (section.name.equals(CLASS_DATA_SECTION)) {
+          classDataSectionSize = size;
+        }
+      }
+      // All bytes of the code and class data sections that are not attributed to a class are
+      // padding, either between items or before the next aligned section.
+      int codePaddingSize = codeSectionSize;
+      int classDataPaddingSize = classDataSectionSize;
+      for (ClassSize classSize : classSizes.values()) {
+        codePaddingSize -= classSize.codeSize;
+        classDataPaddingSize -= classSize.classDataSize;
+      }
+      assert codePaddingSize >= 0;
+      assert classDataPaddingSize >= 0;
+      return new DexSizeReport(
+          fileId,
+          fileSize,
+          Collections.unmodifiableList(result),
+          Collections.unmodifiableMap(poolSizes),
+          Collections.unmodifiableMap(classSizes),
+          codePaddingSize,
+          classDataPaddingSize);
+    }
+  }
+}
@@ -62,6 +62,8 @@ import com.android.tools.r8.utils.DexVersion;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.IterableUtils;
 import com.android.tools.r8.utils.LebUtils;
+import com.android.tools.r8.utils.ListUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -79,7 +81,10 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import java.util.zip.Adler32;
 
@@ -109,6 +114,7 @@ public class FileWriter {
   private final MixedSectionOffsets mixedSectionOffsets;
   private final CodeToKeep desugaredLibraryCodeToKeep;
   private final Map<DexProgramClass, DexEncodedArray> staticFieldValues = new IdentityHashMap<>();
+  private final DexSizeReport.Builder sizeReport;
 
   public FileWriter(
       ByteBufferProvider provider,
@@ -128,6 +134,7 @@ public class FileWriter {
     this.dest = new DexOutputBuffer(provider);
     this.mixedSectionOffsets = new MixedSectionOffsets(options, codeMapping);
     this.desugaredLibraryCodeToKeep = desugaredLibraryCodeToKeep;
+    this.sizeReport = options.dexSizeReportConsumer != null ? new DexSizeReport.Builder() : null;
   }
 
   public static void writeEncodedAnnotation(
@@ -170,7 +177,14 @@ public class FileWriter {
     return this;
   }
 
-  public ByteBufferResult generate() {
+  /**
+   * Generates the dex file bytes.
+   *
+   * @param executorService executor used to encode independent items concurrently, or null if all
+   *     items should be encoded on the calling thread, e.g., when several files are written in
+   *     parallel already.
+   */
+  public ByteBufferResult generate(ExecutorService executorService) throws ExecutionException {
     // Check restrictions on interface methods.
     checkInterfaceMethods();
 
@@ -184,7 +198,7 @@ public class FileWriter {
     assert codeMapping.verifyCodeObjects(mixedSectionOffsets.getCodes());
 
     // Sort the codes first, as their order might impact size due to alignment constraints.
-    List<ProgramDexCode> codes = sortDexCodesByClassName();
+    List<ProgramDexCode> codes = sortDexCodesByClassName(executorService);
 
     // Output the debug_info_items first, as they have no dependencies.
     dest.moveTo(layout.getCodesOffset() + sizeOfCodeItems(codes));
@@ -194,12 +208,23 @@ public class FileWriter {
       // Ensure deterministic ordering of debug info by sorting consistent with the code objects.
       layout.setDebugInfosOffset(dest.align(1));
       Set<DexDebugInfo> seen = new HashSet<>(mixedSectionOffsets.getDebugInfos().size());
+      List<DexDebugInfo> debugInfos = new ArrayList<>(mixedSectionOffsets.getDebugInfos().size());
       for (ProgramDexCode code : codes) {
         DexDebugInfoForWriting info = code.getCode().getDebugInfoForWriting();
         if (info != null && seen.add(info)) {
-          writeDebugItem(info, graphLens);
+          debugInfos.add(info);
         }
       }
+      // The encoding of each debug info is independent of its offset, so encode them concurrently
+      // and lay them out in the deterministic order computed above.
+      List<byte[]> encodedDebugInfos =
+          mapItems(
+              debugInfos,
+              info -> new DebugBytecodeWriter(info, mapping, graphLens).generate(),
+              executorService);
+      for (int i = 0; i < debugInfos.size(); i++) {
+        writeDebugItem(debugInfos.get(i), encodedDebugInfos.get(i));
+      }
     }
 
     // Remember the typelist offset for later.
@@ -233,6 +258,9 @@ public class FileWriter {
     layout.setMapOffset(dest.align(4));
     writeMap(layout);
     layout.setEndOfFile(dest.position());
+    if (sizeReport != null) {
+      recordSizes(layout);
+    }
 
     // Now that we have all mixedSectionOffsets, lets write the indexed items.
     dest.moveTo(Constants.TYPE_HEADER_ITEM_SIZE);
@@ -335,24 +363,39 @@ public class FileWriter {
     return true;
   }
 
-  private List<ProgramDexCode> sortDexCodesByClassName() {
-    Map<ProgramDexCode, String> codeToSignatureMap = new IdentityHashMap<>();
-    List<ProgramDexCode> codesSorted = new ArrayList<>();
+  private List<ProgramDexCode> sortDexCodesByClassName(ExecutorService executorService)
+      throws ExecutionException {
+    List<ProgramDexCode> codes = new ArrayList<>();
     for (DexProgramClass clazz : mapping.getClasses()) {
       clazz.forEachProgramMethod(
           method -> {
             DexCode code = codeMapping.getCode(method.getDefinition());
             assert code != null || method.getDefinition().shouldNotHaveCode();
             if (code != null) {
-              ProgramDexCode programCode = new ProgramDexCode(code, method);
-              codesSorted.add(programCode);
-              codeToSignatureMap.put(
-                  programCode, getKeyForDexCodeSorting(method, application.getProguardMap()));
+              codes.add(new ProgramDexCode(code, method));
             }
           });
     }
-    codesSorted.sort(Comparator.comparing(codeToSignatureMap::get));
-    return codesSorted;
+    List<String> keys =
+        mapItems(
+            codes,
+            code -> getKeyForDexCodeSorting(code.getMethod(), application.getProguardMap()),
+            executorService);
+    Map<ProgramDexCode, String> codeToSignatureMap = new IdentityHashMap<>(codes.size());
+    for (int i = 0; i < codes.size(); i++) {
+      codeToSignatureMap.put(codes.get(i), keys.get(i));
+    }
+    codes.sort(Comparator.comparing(codeToSignatureMap::get));
+    return codes;
+  }
+
+  private static <T, R> List<R> mapItems(
+      List<T> items, Function<T, R> fn, ExecutorService executorService)
+      throws ExecutionException {
+    if (executorService == null || items.size() <= 1) {
+      return ListUtils.map(items, fn);
+    }
+    return new ArrayList<>(ThreadUtils.processItemsWithResults(items, fn::apply, executorService));
   }
 
   private static String getKeyForDexCodeSorting(ProgramMethod method, ClassNameMapper proguardMap) {
@@ -492,13 +535,19 @@ public class FileWriter {
     dest.putInt(mixedSectionOffsets.getOffsetFor(staticFieldValues.get(clazz)));
   }
 
-  private void writeDebugItem(DexDebugInfo debugInfo, GraphLens graphLens) {
+  private void writeDebugItem(DexDebugInfo debugInfo, byte[] encoding) {
     mixedSectionOffsets.setOffsetFor(debugInfo, dest.position());
-    dest.putBytes(new DebugBytecodeWriter(debugInfo, mapping, graphLens).generate());
+    dest.putBytes(encoding);
   }
 
   private void writeCodeItem(ProgramDexCode code) {
     writeCodeItem(code.getCode(), code.getMethod());
+    if (sizeReport != null) {
+      // Start at the aligned offset of the code item to leave out the padding before it.
+      sizeReport.addCodeSize(
+          getDescriptor(code.getMethod().getHolderType()),
+          dest.position() - mixedSectionOffsets.getOffsetFor(code.getCode()));
+    }
   }
 
   private void writeCodeItem(DexCode code, ProgramMethod method) {
@@ -693,6 +742,11 @@ public class FileWriter {
         appInfo.getSyntheticItems().getSynthesizingContexts(clazz.getType()).size() > 1;
     writeEncodedMethods(clazz.directMethods(), isSharedSynthetic);
     writeEncodedMethods(clazz.virtualMethods(), isSharedSynthetic);
+    if (sizeReport != null) {
+      sizeReport.addClassDataSize(
+          getDescriptor(clazz.getType()),
+          dest.position() - mixedSectionOffsets.getOffsetFor(clazz));
+    }
   }
 
   private void addStaticFieldValues(DexProgramClass clazz) {
@@ -812,6 +866,78 @@ public class FileWriter {
     dest.forward(size * Constants.TYPE_MAP_LIST_ITEM_SIZE);
   }
 
+  private void recordSizes(Layout layout) {
+    sizeReport.setFileSize(layout.getEndOfFile());
+    sizeReport.setPoolSize(DexSizeReport.STRINGS, mapping.getStrings().size());
+    sizeReport.setPoolSize(DexSizeReport.TYPES, mapping.getTypes().size());
+    sizeReport.setPoolSize(DexSizeReport.PROTOS, mapping.getProtos().size());
+    sizeReport.setPoolSize(DexSizeReport.FIELDS, mapping.getFields().size());
+    sizeReport.setPoolSize(DexSizeReport.METHODS, mapping.getMethods().size());
+    sizeReport.setPoolSize(DexSizeReport.CLASSES, mapping.getClasses().length);
+    sizeReport.setPoolSize(DexSizeReport.CALL_SITES, mapping.getCallSites().size());
+    sizeReport.setPoolSize(DexSizeReport.METHOD_HANDLES, mapping.getMethodHandles().size());
+    sizeReport.addSection("header_item", 0, 1);
+    sizeReport.addSection("string_id_item", layout.stringIdsOffset, mapping.getStrings().size());
+    sizeReport.addSection("type_id_item", layout.typeIdsOffset, mapping.getTypes().size());
+    sizeReport.addSection("proto_id_item", layout.protoIdsOffset, mapping.getProtos().size());
+    sizeReport.addSection("field_id_item", layout.fieldIdsOffset, mapping.getFields().size());
+    sizeReport.addSection("method_id_item", layout.methodIdsOffset, mapping.getMethods().size());
+    sizeReport.addSection("class_def_item", layout.classDefsOffset, mapping.getClasses().length);
+    sizeReport.addSection(
+        "call_site_id_item", layout.callSiteIdsOffset, mapping.getCallSites().size());
+    sizeReport.addSection(
+        "method_handle_item", layout.methodHandleIdsOffset, mapping.getMethodHandles().size());
+    sizeReport.addSection(
+        DexSizeReport.CODE_SECTION, layout.getCodesOffset(), mixedSectionOffsets.getCodes().size());
+    sizeReport.addSection(
+        "debug_info_item",
+        layout.getDebugInfosOffset(),
+        mixedSectionOffsets.getDebugInfos().size());
+    sizeReport.addSection(
+        "type_list", layout.getTypeListsOffset(), mixedSectionOffsets.getTypeLists().size());
+    sizeReport.addSection(
+        "string_data_item",
+        layout.getStringDataOffsets(),
+        mixedSectionOffsets.getStringData().size());
+    sizeReport.addSection(
+        "annotation_item",
+        layout.getAnnotationsOffset(),
+        mixedSectionOffsets.getAnnotations().size());
+    sizeReport.addSection(
+        DexSizeReport.CLASS_DATA_SECTION,
+        layout.getClassDataOffset(),
+        mixedSectionOffsets.getClassesWithData().size());
+    sizeReport.addSection(
+        "encoded_array_item",
+        layout.getEncodedArrarysOffset(),
+        mixedSectionOffsets.getEncodedArrays().size());
+    sizeReport.addSection(
+        "annotation_set_item",
+        layout.getAnnotationSetsOffset(),
+        mixedSectionOffsets.getAnnotationSets().size());
+    sizeReport.addSection(
+        "annotation_set_ref_list",
+        layout.getAnnotationSetRefListsOffset(),
+        mixedSectionOffsets.getAnnotationSetRefLists().size());
+    sizeReport.addSection(
+        "annotations_directory_item",
+        layout.getAnnotationDirectoriesOffset(),
+        mixedSectionOffsets.getAnnotationDirectories().size());
+    sizeReport.addSection("map_list", layout.getMapOffset(), 1);
+  }
+
+  /**
+   * Returns the size report of the generated file, or null if no report was requested through
+   * {@link InternalOptions#dexSizeReportConsumer}.
+   */
+  public DexSizeReport getSizeReport(int fileId) {
+    return sizeReport != null ? sizeReport.build(fileId) : null;
+  }
+
+  private String getDescriptor(DexType type) {
+    return namingLens.lookupDescriptor(type).toString();
+  }
+
   private void writeHeader(Layout layout) {
     dest.moveTo(0);
     dest.putBytes(Constants.DEX_FILE_MAGIC_PREFIX);
@@ -71,7 +71,8 @@ public class InheritanceClassInDexDistributor {
 
     public void updateNumbersOfIds() {
       // Use a temporary VirtualFile to evaluate the number of ids in the group.
-      VirtualFile virtualFile = new VirtualFile(0, appView, graphLens, initClassLens, namingLens);
+      VirtualFile virtualFile =
+          new VirtualFile(0, appView, graphLens, initClassLens, namingLens, footprints);
       // Note: sort not needed.
       for (DexProgramClass clazz : members) {
         virtualFile.addClass(clazz);
@@ -289,6 +290,7 @@ public class InheritanceClassInDexDistributor {
   private final GraphLens graphLens;
   private final InitClassLens initClassLens;
   private final NamingLens namingLens;
+  private final ClassFootprintCache footprints;
   private final DirectSubClassesInfo directSubClasses;
 
   public InheritanceClassInDexDistributor(
@@ -299,6 +301,7 @@ public class InheritanceClassInDexDistributor {
       GraphLens graphLens,
       InitClassLens initClassLens,
       NamingLens namingLens,
+      ClassFootprintCache footprints,
       AppView<?> appView,
       ExecutorService executorService) {
     this.mainDex = mainDex;
@@ -308,6 +311,7 @@ public class InheritanceClassInDexDistributor {
     this.graphLens = graphLens;
     this.initClassLens = initClassLens;
     this.namingLens = namingLens;
+    this.footprints = footprints;
     this.appView = appView;
     this.executorService = executorService;
 
@@ -379,7 +383,8 @@ public class InheritanceClassInDexDistributor {
 
   private Collection<VirtualFile> assignGroup(ClassGroup group, List<VirtualFile> exclude) {
     VirtualFileCycler cycler =
-        new VirtualFileCycler(dexes, appView, graphLens, initClassLens, namingLens, dexIndexOffset);
+        new VirtualFileCycler(
+            dexes, appView, graphLens, initClassLens, namingLens, footprints, dexIndexOffset);
     if (group.members.isEmpty()) {
       return Collections.emptyList();
     } else if (group.canFitInOneDex()) {
@@ -429,7 +434,8 @@ public class InheritanceClassInDexDistributor {
 
     Collection<VirtualFile> usedDex = new ArrayList<>();
     VirtualFileCycler cycler =
-        new VirtualFileCycler(dexes, appView, graphLens, initClassLens, namingLens, dexIndexOffset);
+        new VirtualFileCycler(
+            dexes, appView, graphLens, initClassLens, namingLens, footprints, dexIndexOffset);
     // Don't modify exclude. Think about modifying the input collection considering this
     // is private API.
     Set<VirtualFile> currentExclude = new HashSet<>(exclude);
@@ -27,6 +27,8 @@ import com.android.tools.r8.ir.conversion.LensCodeRewriterUtils;
 import com.android.tools.r8.logging.Log;
 import com.android.tools.r8.naming.ClassNameMapper;
 import com.android.tools.r8.naming.NamingLens;
+import com.android.tools.r8.origin.PathOrigin;
+import com.android.tools.r8.position.TextPosition;
 import com.android.tools.r8.shaking.MainDexInfo;
 import com.android.tools.r8.synthesis.SyntheticNaming;
 import com.android.tools.r8.utils.DescriptorUtils;
@@ -34,13 +36,17 @@ import com.android.tools.r8.utils.FileUtils;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.Reporter;
 import com.android.tools.r8.utils.SetUtils;
+import com.android.tools.r8.utils.StringDiagnostic;
 import com.android.tools.r8.utils.Timing;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -50,6 +56,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -89,8 +96,9 @@ public class VirtualFile {
       AppView<?> appView,
       GraphLens graphLens,
       InitClassLens initClassLens,
-      NamingLens namingLens) {
-    this(id, appView, graphLens, initClassLens, namingLens, null, null);
+      NamingLens namingLens,
+      ClassFootprintCache footprints) {
+    this(id, appView, graphLens, initClassLens, namingLens, footprints, null, null);
   }
 
   VirtualFile(
@@ -99,8 +107,9 @@ public class VirtualFile {
       GraphLens graphLens,
       InitClassLens initClassLens,
       NamingLens namingLens,
+      ClassFootprintCache footprints,
       FeatureSplit featureSplit) {
-    this(id, appView, graphLens, initClassLens, namingLens, null, featureSplit);
+    this(id, appView, graphLens, initClassLens, namingLens, footprints, null, featureSplit);
   }
 
   private VirtualFile(
@@ -109,8 +118,9 @@ public class VirtualFile {
       GraphLens graphLens,
       InitClassLens initClassLens,
       NamingLens namingLens,
+      ClassFootprintCache footprints,
       DexProgramClass primaryClass) {
-    this(id, appView, graphLens, initClassLens, namingLens, primaryClass, null);
+    this(id, appView, graphLens, initClassLens, namingLens, footprints, primaryClass, null);
   }
 
   private VirtualFile(
@@ -119,12 +129,14 @@ public class VirtualFile {
       GraphLens graphLens,
       InitClassLens initClassLens,
       NamingLens namingLens,
+      ClassFootprintCache footprints,
       DexProgramClass primaryClass,
       FeatureSplit featureSplit) {
     this.id = id;
     this.indexedItems = new VirtualFileIndexedItemCollection(graphLens, initClassLens, namingLens);
     this.transaction =
-        new IndexedItemTransaction(indexedItems, appView, graphLens, initClassLens, namingLens);
+        new IndexedItemTransaction(
+            indexedItems, appView, graphLens, initClassLens, namingLens, footprints);
     this.primaryClass = primaryClass;
     this.featureSplit = featureSplit;
   }
@@ -341,6 +353,7 @@ public class VirtualFile {
                   writer.graphLens,
                   writer.initClassLens,
                   writer.namingLens,
+                  null,
                   clazz);
           virtualFiles.add(file);
           file.addClass(clazz);
@@ -370,15 +383,23 @@ public class VirtualFile {
     protected Map<DexProgramClass, String> originalNames;
     protected final VirtualFile mainDexFile;
     protected final InternalOptions options;
+    protected final ClassFootprintCache footprints;
 
-    DistributorBase(ApplicationWriter writer, InternalOptions options) {
+    DistributorBase(
+        ApplicationWriter writer, InternalOptions options, ClassFootprintCache footprints) {
       super(writer);
       this.options = options;
+      this.footprints = footprints;
 
       // Create the primary dex file. The distribution will add more if needed.
       mainDexFile =
           new VirtualFile(
-              0, writer.appView, writer.graphLens, writer.initClassLens, writer.namingLens);
+              0,
+              writer.appView,
+              writer.graphLens,
+              writer.initClassLens,
+              writer.namingLens,
+              footprints);
       assert virtualFiles.isEmpty();
       virtualFiles.add(mainDexFile);
       addMarkers(mainDexFile);
@@ -501,6 +522,7 @@ public class VirtualFile {
                 writer.graphLens,
                 writer.initClassLens,
                 writer.namingLens,
+                footprints,
                 featureSplitSetEntry.getKey());
         virtualFiles.add(featureFile);
         addMarkers(featureFile);
@@ -518,6 +540,7 @@ public class VirtualFile {
                 writer.graphLens,
                 writer.initClassLens,
                 writer.namingLens,
+                footprints,
                 options)
             .call();
       }
@@ -530,13 +553,31 @@ public class VirtualFile {
 
     FillFilesDistributor(ApplicationWriter writer, InternalOptions options,
         ExecutorService executorService) {
-      super(writer, options);
+      super(writer, options, createFootprintCache(writer, options));
       this.fillStrategy = FillStrategy.FILL_MAX;
       this.executorService = executorService;
     }
 
+    private static ClassFootprintCache createFootprintCache(
+        ApplicationWriter writer, InternalOptions options) {
+      return options.testing.enableClassFootprintCache
+          ? new ClassFootprintCache(
+              writer.appView, writer.graphLens, writer.initClassLens, writer.namingLens)
+          : null;
+    }
+
     @Override
     public List<VirtualFile> run() throws IOException {
+      try {
+        return distribute();
+      } finally {
+        if (footprints != null) {
+          footprints.clear();
+        }
+      }
+    }
+
+    private List<VirtualFile> distribute() throws IOException {
       int totalClassNumber = classes.size();
       // First fill required classes into the main dex file.
       fillForMainDexList(classes);
@@ -554,7 +595,12 @@ public class VirtualFile {
         // The main dex file is filtered out, so ensure at least one file for the remaining classes.
         virtualFiles.add(
             new VirtualFile(
-                1, writer.appView, writer.graphLens, writer.initClassLens, writer.namingLens));
+                1,
+                writer.appView,
+                writer.graphLens,
+                writer.initClassLens,
+                writer.namingLens,
+                footprints));
         filesForDistribution = virtualFiles.subList(1, virtualFiles.size());
         fileIndexOffset = 1;
       }
@@ -562,7 +608,16 @@ public class VirtualFile {
       Map<FeatureSplit, Set<DexProgramClass>> featureSplitClasses =
           removeFeatureSplitClassesGetMapping();
 
+      Path distributionFile = options.dexDistributionFile;
       if (multidexLegacy && options.enableInheritanceClassInDexDistributor) {
+        if (distributionFile != null) {
+          options.reporter.warning(
+              new StringDiagnostic(
+                  "The dex distribution file "
+                      + distributionFile
+                      + " is not used when distributing classes for legacy multidex"));
+          distributionFile = null;
+        }
         new InheritanceClassInDexDistributor(
                 mainDexFile,
                 filesForDistribution,
@@ -571,6 +626,7 @@ public class VirtualFile {
                 writer.graphLens,
                 writer.initClassLens,
                 writer.namingLens,
+                footprints,
                 writer.appView,
                 executorService)
             .distribute();
@@ -578,6 +634,10 @@ public class VirtualFile {
         // Sort the remaining classes based on the original names.
         // This with make classes from the same package be adjacent.
         classes = sortClassesByPackage(classes, originalNames);
+        if (distributionFile != null) {
+          classes =
+              fillFromPreviousDistribution(distributionFile, filesForDistribution, fileIndexOffset);
+        }
         new PackageSplitPopulator(
                 filesForDistribution,
                 appView,
@@ -588,19 +648,151 @@ public class VirtualFile {
                 writer.graphLens,
                 writer.initClassLens,
                 writer.namingLens,
+                footprints,
                 options)
             .call();
       }
       addFeatureSplitFiles(featureSplitClasses, fillStrategy);
 
       assert totalClassNumber == virtualFiles.stream().mapToInt(dex -> dex.classes().size()).sum();
+      if (distributionFile != null) {
+        writeDistribution(distributionFile);
+      }
       return virtualFiles;
     }
+
+    /**
+     * Places the classes in the dex file they were assigned to by the previous compilation, as
+     * recorded in the given distribution file, and returns the classes that still need to be
+     * distributed in package order.
+     *
+     * <p>Previous files that no longer hold any classes are skipped, such that the dex files remain
+     * consecutively numbered. A class that makes its previous file full enough for the fill
+     * strategy is left for the regular distribution.
+     */
+    private Set<DexProgramClass> fillFromPreviousDistribution(
+        Path distributionFile, List<VirtualFile> filesForDistribution, int fileIndexOffset)
+        throws IOException {
+      Map<String, Integer> previousAssignment = readDistribution(distributionFile);
+      Set<DexProgramClass> remaining = new LinkedHashSet<>(classes);
+      if (previousAssignment.isEmpty()) {
+        return remaining;
+      }
+      TreeMap<Integer, List<DexProgramClass>> classesPerPreviousFile = new TreeMap<>();
+      for (DexProgramClass clazz : classes) {
+        Integer previousId = previousAssignment.get(originalNames.get(clazz));
+        // Files before the offset are reserved for the main dex list.
+        if (previousId != null && previousId >= fileIndexOffset) {
+          classesPerPreviousFile
+              .computeIfAbsent(previousId, ignore -> new ArrayList<>())
+              .add(clazz);
+        }
+      }
+      int fileIndex = 0;
+      for (List<DexProgramClass> previousFileClasses : classesPerPreviousFile.values()) {
+        if (fileIndex == filesForDistribution.size()) {
+          filesForDistribution.add(
+              new VirtualFile(
+                  fileIndexOffset + fileIndex,
+                  writer.appView,
+                  writer.graphLens,
+                  writer.initClassLens,
+                  writer.namingLens,
+                  footprints));
+        }
+        VirtualFile file = filesForDistribution.get(fileIndex++);
+        for (DexProgramClass clazz : previousFileClasses) {
+          file.addClass(clazz);
+          if (PackageSplitPopulator.isFullEnough(file, fillStrategy, options)) {
+            file.abortTransaction();
+          } else {
+            file.commitTransaction();
+            remaining.remove(clazz);
+          }
+        }
+      }
+      return remaining;
+    }
+
+    /**
+     * Reads the class to dex file assignment written by {@link #writeDistribution}.
+     *
+     * <p>Each line must be a non-negative dex file index followed by a single space and the
+     * original name of a class, and no class may be assigned twice. If the file does not have this
+     * format a warning is reported and the assignment is ignored, such that all classes are
+     * distributed as new classes.
+     */
+    private Map<String, Integer> readDistribution(Path distributionFile) throws IOException {
+      if (!Files.exists(distributionFile)) {
+        return Collections.emptyMap();
+      }
+      Map<String, Integer> assignment = new HashMap<>();
+      List<String> lines = FileUtils.readAllLines(distributionFile);
+      for (int i = 0; i < lines.size(); i++) {
+        String line = lines.get(i);
+        if (line.isEmpty()) {
+          continue;
+        }
+        int separator = line.indexOf(' ');
+        String name = separator > 0 ? line.substring(separator + 1) : "";
+        int fileId = separator > 0 ? parseFileId(line.substring(0, separator)) : -1;
+        if (fileId < 0 || name.isEmpty() || name.indexOf(' ') >= 0) {
+          reportInvalidDistribution(
+              distributionFile, i, "Expected a dex file index and a class name, got: " + line);
+          return Collections.emptyMap();
+        }
+        if (assignment.put(name, fileId) != null) {
+          reportInvalidDistribution(
+              distributionFile, i, "Class " + name + " is assigned to more than one dex file");
+          return Collections.emptyMap();
+        }
+      }
+      return assignment;
+    }
+
+    private static int parseFileId(String value) {
+      for (int i = 0; i < value.length(); i++) {
+        if (!Character.isDigit(value.charAt(i))) {
+          return -1;
+        }
+      }
+      try {
+        return Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+        return -1;
+      }
+    }
+
+    private void reportInvalidDistribution(Path distributionFile, int lineIndex, String message) {
+      options.reporter.warning(
+          new StringDiagnostic(
+              message + ". The dex distribution file is ignored.",
+              new PathOrigin(distributionFile),
+              new TextPosition(0, lineIndex + 1, TextPosition.UNKNOWN_COLUMN)));
+    }
+
+    private void writeDistribution(Path distributionFile) throws IOException {
+      List<String> lines = new ArrayList<>();
+      for (VirtualFile file : virtualFiles) {
+        if (file.getFeatureSplit() != null) {
+          continue;
+        }
+        List<String> names = new ArrayList<>(file.classes().size());
+        for (DexProgramClass clazz : file.classes()) {
+          names.add(originalNames.get(clazz));
+        }
+        names.sort(String::compareTo);
+        for (String name : names) {
+          lines.add(file.getId() + " " + name);
+        }
+      }
+      FileUtils.writeTextFile(distributionFile, lines);
+    }
   }
 
   public static class MonoDexDistributor extends DistributorBase {
     MonoDexDistributor(ApplicationWriter writer, InternalOptions options) {
-      super(writer, options);
+      super(writer, options, null);
     }
 
     @Override
@@ -732,6 +924,7 @@ public class VirtualFile {
     private final GraphLens graphLens;
     private final InitClassLens initClassLens;
     private final NamingLens namingLens;
+    private final ClassFootprintCache footprints;
     private final LensCodeRewriterUtils rewriter;
 
     private final Set<DexProgramClass> classes = new LinkedHashSet<>();
@@ -748,12 +941,15 @@ public class VirtualFile {
         AppView<?> appView,
         GraphLens graphLens,
         InitClassLens initClassLens,
-        NamingLens namingLens) {
+        NamingLens namingLens,
+        ClassFootprintCache footprints) {
       this.base = base;
       this.graphLens = graphLens;
       this.initClassLens = initClassLens;
       this.namingLens = namingLens;
-      this.rewriter = new LensCodeRewriterUtils(appView, true);
+      this.footprints = footprints;
+      this.rewriter =
+          footprints != null ? footprints.getRewriter() : new LensCodeRewriterUtils(appView, true);
     }
 
     private <T extends DexItem> boolean maybeInsert(T item, Set<T> set, Set<T> baseSet) {
@@ -765,7 +961,11 @@ public class VirtualFile {
     }
 
     void addClassAndDependencies(DexProgramClass clazz) {
-      clazz.collectIndexedItems(this, graphLens, rewriter);
+      if (footprints != null) {
+        footprints.getFootprint(clazz).addTo(this);
+      } else {
+        clazz.collectIndexedItems(this, graphLens, rewriter);
+      }
     }
 
     @Override
@@ -900,6 +1100,7 @@ public class VirtualFile {
     private final GraphLens graphLens;
     private final InitClassLens initClassLens;
     private final NamingLens namingLens;
+    private final ClassFootprintCache footprints;
 
     private int nextFileId;
     private Iterator<VirtualFile> allFilesCyclic;
@@ -912,12 +1113,14 @@ public class VirtualFile {
         GraphLens graphLens,
         InitClassLens initClassLens,
         NamingLens namingLens,
+        ClassFootprintCache footprints,
         int fileIndexOffset) {
       this.files = files;
       this.appView = appView;
       this.graphLens = graphLens;
       this.initClassLens = initClassLens;
       this.namingLens = namingLens;
+      this.footprints = footprints;
 
       nextFileId = files.size() + fileIndexOffset;
       if (files.size() > 0) {
@@ -949,7 +1152,13 @@ public class VirtualFile {
       } else {
         VirtualFile newFile =
             new VirtualFile(
-                nextFileId++, appView, graphLens, initClassLens, namingLens, featuresplit);
+                nextFileId++,
+                appView,
+                graphLens,
+                initClassLens,
+                namingLens,
+                footprints,
+                featuresplit);
         files.add(newFile);
         allFilesCyclic = Iterators.cycle(files);
         return newFile;
@@ -982,7 +1191,13 @@ public class VirtualFile {
     VirtualFile addFile() {
       VirtualFile newFile =
           new VirtualFile(
-              nextFileId++, appView, graphLens, initClassLens, namingLens, featuresplit);
+              nextFileId++,
+              appView,
+              graphLens,
+              initClassLens,
+              namingLens,
+              footprints,
+              featuresplit);
       files.add(newFile);
 
       reset();
@@ -1031,6 +1246,7 @@ public class VirtualFile {
         GraphLens graphLens,
         InitClassLens initClassLens,
         NamingLens namingLens,
+        ClassFootprintCache footprints,
         InternalOptions options) {
       this.classes = new ArrayList<>(classes);
       this.originalNames = originalNames;
@@ -1039,7 +1255,7 @@ public class VirtualFile {
       this.options = options;
       this.cycler =
           new VirtualFileCycler(
-              files, appView, graphLens, initClassLens, namingLens, fileIndexOffset);
+              files, appView, graphLens, initClassLens, namingLens, footprints, fileIndexOffset);
     }
 
     static boolean coveredByPrefix(String originalName, String currentPrefix) {
@@ -1110,7 +1326,7 @@ public class VirtualFile {
           nonPackageClasses.add(clazz);
           continue;
         }
-        if (isFullEnough(current, options)) {
+        if (isFullEnough(current, fillStrategy, options)) {
           current.abortTransaction();
           // We allow for a final rollback that has at most 20% of classes in it.
           // This is a somewhat random number that was empirically chosen.
@@ -1154,7 +1370,8 @@ public class VirtualFile {
       return newPackageAssignments;
     }
 
-    private boolean isFullEnough(VirtualFile current, InternalOptions options) {
+    static boolean isFullEnough(
+        VirtualFile current, FillStrategy fillStrategy, InternalOptions options) {
       if (options.testing.limitNumberOfClassesPerDex > 0
           && current.getNumberOfClasses() > options.testing.limitNumberOfClassesPerDex) {
         return true;
@@ -1189,8 +1406,8 @@ public class VirtualFile {
 
     private VirtualFile getVirtualFile(VirtualFileCycler cycler) {
       VirtualFile current = null;
-      while (cycler.hasNext() && isFullEnough(current = cycler.next(), options)) {}
-      if (current == null || isFullEnough(current, options)) {
+      while (cycler.hasNext() && isFullEnough(current = cycler.next(), fillStrategy, options)) {}
+      if (current == null || isFullEnough(current, fillStrategy, options)) {
         current = cycler.addFile();
       }
       return current;
@@ -21,6 +21,7 @@ import com.android.tools.r8.ir.analysis.proto.GeneratedMessageLiteBuilderShrinke
 import com.android.tools.r8.ir.analysis.proto.GeneratedMessageLiteShrinker;
 import com.android.tools.r8.ir.analysis.proto.ProtoShrinker;
 import com.android.tools.r8.ir.analysis.value.AbstractValueFactory;
+import com.android.tools.r8.ir.desugar.BackportedMethodRewriter.RewritableMethods;
 import com.android.tools.r8.ir.desugar.PrefixRewritingMapper;
 import com.android.tools.r8.ir.optimize.CallSiteOptimizationInfoPropagator;
 import com.android.tools.r8.ir.optimize.enums.EnumDataMap;
@@ -48,6 +49,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class AppView<T extends AppInfo> implements DexDefinitionSupplier, LibraryModeledPredicate {
 
@@ -102,6 +104,10 @@ public class AppView<T extends AppInfo> implements DexDefinitionSupplier, Librar
   // desugared. This information is populated in the IR converter.
   private Set<DexType> alreadyLibraryDesugared = null;
 
+  // The backported methods only depend on the options, so they are computed once and shared by all
+  // instruction desugarings created for this view.
+  private RewritableMethods backportedMethods = null;
+
   private final CompilationContext context;
 
   private final Thread mainThread = Thread.currentThread();
@@ -710,4 +716,12 @@ public class AppView<T extends AppInfo> implements DexDefinitionSupplier, Librar
     assert alreadyLibraryDesugared != null;
     return alreadyLibraryDesugared.contains(clazz.getType());
   }
+
+  public synchronized RewritableMethods getOrComputeBackportedMethods(
+      Supplier<RewritableMethods> supplier) {
+    if (backportedMethods == null) {
+      backportedMethods = supplier.get();
+    }
+    return backportedMethods;
+  }
 }
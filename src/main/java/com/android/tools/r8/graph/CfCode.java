@@ -151,6 +151,11 @@ public class CfCode extends Code implements StructuralItem<CfCode> {
   private final List<LocalVariableInfo> localVariables;
   private StackMapStatus stackMapStatus = StackMapStatus.NOT_VERIFIED;
 
+  // The graph lens and code rewriting mode for which the current stack map status was computed.
+  // Used to avoid re-verifying the frames each time the code is inlined into a new caller.
+  private GraphLens stackMapStatusGraphLens = null;
+  private boolean stackMapStatusAppliedCodeRewritings;
+
   public CfCode(
       DexType originalHolder,
       int maxStack,
@@ -211,6 +216,7 @@ public class CfCode extends Code implements StructuralItem<CfCode> {
 
   public void setInstructions(List<CfInstruction> instructions) {
     this.instructions = instructions;
+    this.stackMapStatusGraphLens = null;
   }
 
   public List<LocalVariableInfo> getLocalVariables() {
@@ -437,17 +443,29 @@ public class CfCode extends Code implements StructuralItem<CfCode> {
         context, method, appView, valueNumberGenerator, callerPosition, origin, methodProcessor);
   }
 
-  private void verifyFramesOrRemove(
+  // Synchronized since the same inlinee may be built concurrently from multiple callers. The
+  // result is cached for the current graph lens such that the frames of a method that is inlined
+  // into many call sites are only verified once.
+  private synchronized void verifyFramesOrRemove(
       DexEncodedMethod method,
       AppView<?> appView,
       Origin origin,
       boolean shouldApplyCodeRewritings) {
-    stackMapStatus = verifyFrames(method, appView, origin, shouldApplyCodeRewritings);
-    if (!stackMapStatus.isValid()) {
+    GraphLens graphLens = appView.graphLens();
+    if (stackMapStatusGraphLens == graphLens
+        && stackMapStatusAppliedCodeRewritings == shouldApplyCodeRewritings) {
+      assert stackMapStatus != StackMapStatus.NOT_VERIFIED;
+      return;
+    }
+    StackMapStatus status = verifyFrames(method, appView, origin, shouldApplyCodeRewritings);
+    if (!status.isValid()) {
       ArrayList<CfInstruction> copy = new ArrayList<>(instructions);
       copy.removeIf(CfInstruction::isFrame);
       setInstructions(copy);
     }
+    stackMapStatus = status;
+    stackMapStatusGraphLens = graphLens;
+    stackMapStatusAppliedCodeRewritings = shouldApplyCodeRewritings;
   }
 
   // First build entry. Will either strip locals or build with locals.
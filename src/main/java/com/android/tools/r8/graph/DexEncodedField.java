@@ -26,6 +26,7 @@ import com.android.tools.r8.utils.structural.StructuralItem;
 import com.android.tools.r8.utils.structural.StructuralMapping;
 import com.android.tools.r8.utils.structural.StructuralSpecification;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
     implements StructuralItem<DexEncodedField> {
@@ -36,6 +37,8 @@ public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
   private final boolean deprecated;
   /** Generic signature information if the attribute is present in the input */
   private FieldTypeSignature genericSignature;
+  /** Parser of the generic signature of the input if it has not been parsed yet. */
+  private volatile Supplier<FieldTypeSignature> genericSignatureParser;
 
   private FieldOptimizationInfo optimizationInfo = DefaultFieldOptimizationInfo.getInstance();
   private KotlinFieldLevelInfo kotlinMemberInfo = NO_KOTLIN_INFO;
@@ -46,7 +49,7 @@ public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
         .withNullableItem(f -> f.staticValue)
         .withBool(DexEncodedField::isDeprecated)
         // TODO(b/171867022): The generic signature should be part of the definition.
-        .withAssert(f -> f.genericSignature.hasNoSignature());
+        .withAssert(f -> f.getGenericSignature().hasNoSignature());
     // TODO(b/171867022): Should the optimization info and member info be part of the definition?
   }
 
@@ -333,16 +336,40 @@ public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
   }
 
   public FieldTypeSignature getGenericSignature() {
+    if (genericSignatureParser != null) {
+      parseGenericSignature();
+    }
     return genericSignature;
   }
 
+  private synchronized void parseGenericSignature() {
+    Supplier<FieldTypeSignature> parser = genericSignatureParser;
+    if (parser != null) {
+      genericSignature = parser.get();
+      genericSignatureParser = null;
+    }
+  }
+
+  /**
+   * Sets the generic signature of the input to be parsed on first access. The signatures of fields
+   * that are never looked at, such as library fields and fields removed by tree shaking, are
+   * thereby never parsed.
+   */
+  public void setLazyGenericSignature(Supplier<FieldTypeSignature> genericSignatureParser) {
+    assert genericSignatureParser != null;
+    this.genericSignature = FieldTypeSignature.noSignature();
+    this.genericSignatureParser = genericSignatureParser;
+  }
+
   public void setGenericSignature(FieldTypeSignature genericSignature) {
     assert genericSignature != null;
     this.genericSignature = genericSignature;
+    this.genericSignatureParser = null;
   }
 
   public void clearGenericSignature() {
     this.genericSignature = FieldTypeSignature.noSignature();
+    this.genericSignatureParser = null;
   }
 
   private static Builder builder(DexEncodedField from) {
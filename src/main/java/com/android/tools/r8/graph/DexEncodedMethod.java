@@ -95,6 +95,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 import org.objectweb.asm.Opcodes;
 
 public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMethod>
@@ -163,6 +164,8 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
   private KotlinMethodLevelInfo kotlinMemberInfo = NO_KOTLIN_INFO;
   /** Generic signature information if the attribute is present in the input */
   private MethodTypeSignature genericSignature;
+  /** Parser of the generic signature of the input if it has not been parsed yet. */
+  private volatile Supplier<MethodTypeSignature> genericSignatureParser;
 
   private DexEncodedMethod defaultInterfaceMethodImplementation = null;
 
@@ -350,7 +353,7 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
         .withNullableItem(m -> m.classFileVersion)
         .withBool(DexEncodedMember::isD8R8Synthesized)
         // TODO(b/171867022): Make signatures structural and include it in the definition.
-        .withAssert(m -> m.genericSignature.hasNoSignature())
+        .withAssert(m -> m.getGenericSignature().hasNoSignature())
         .withAssert(DexEncodedMethod::hasCode)
         .withCustomItem(
             DexEncodedMethod::getCode,
@@ -1503,16 +1506,40 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
   }
 
   public MethodTypeSignature getGenericSignature() {
+    if (genericSignatureParser != null) {
+      parseGenericSignature();
+    }
     return genericSignature;
   }
 
+  private synchronized void parseGenericSignature() {
+    Supplier<MethodTypeSignature> parser = genericSignatureParser;
+    if (parser != null) {
+      genericSignature = parser.get();
+      genericSignatureParser = null;
+    }
+  }
+
+  /**
+   * Sets the generic signature of the input to be parsed on first access. The signatures of methods
+   * that are never looked at, such as library methods and methods removed by tree shaking, are
+   * thereby never parsed.
+   */
+  public void setLazyGenericSignature(Supplier<MethodTypeSignature> genericSignatureParser) {
+    assert genericSignatureParser != null;
+    this.genericSignature = MethodTypeSignature.noSignature();
+    this.genericSignatureParser = genericSignatureParser;
+  }
+
   public void setGenericSignature(MethodTypeSignature genericSignature) {
     assert genericSignature != null;
     this.genericSignature = genericSignature;
+    this.genericSignatureParser = null;
   }
 
   public void clearGenericSignature() {
     this.genericSignature = MethodTypeSignature.noSignature();
+    this.genericSignatureParser = null;
   }
 
   private static Builder syntheticBuilder(DexEncodedMethod from) {
@@ -17,6 +17,7 @@ import java.lang.reflect.GenericSignatureFormatError;
 import java.nio.CharBuffer;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Internal encoding of the generics signature attribute as defined by JVMS 7 $ 4.3.4.
@@ -868,6 +869,38 @@ public class GenericSignature {
     }
   }
 
+  /**
+   * Returns a parser of the field signature for {@link DexEncodedField#setLazyGenericSignature}, or
+   * null if there is no signature to parse.
+   */
+  public static Supplier<FieldTypeSignature> lazyParseFieldTypeSignature(
+      String fieldName,
+      String signature,
+      Origin origin,
+      DexItemFactory factory,
+      Reporter reporter) {
+    if (signature == null || signature.isEmpty()) {
+      return null;
+    }
+    return () -> parseFieldTypeSignature(fieldName, signature, origin, factory, reporter);
+  }
+
+  /**
+   * Returns a parser of the method signature for {@link DexEncodedMethod#setLazyGenericSignature},
+   * or null if there is no signature to parse.
+   */
+  public static Supplier<MethodTypeSignature> lazyParseMethodSignature(
+      String methodName,
+      String signature,
+      Origin origin,
+      DexItemFactory factory,
+      Reporter reporter) {
+    if (signature == null || signature.isEmpty()) {
+      return null;
+    }
+    return () -> parseMethodSignature(methodName, signature, origin, factory, reporter);
+  }
+
   public static class Parser {
 
     /*
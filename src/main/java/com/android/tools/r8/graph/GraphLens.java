@@ -530,19 +530,11 @@ public abstract class GraphLens {
   }
 
   public ImmutableSet<DexMethod> rewriteMethods(Set<DexMethod> methods) {
-    ImmutableSet.Builder<DexMethod> builder = ImmutableSet.builder();
-    for (DexMethod method : methods) {
-      builder.add(getRenamedMethodSignature(method));
-    }
-    return builder.build();
+    return rewriteItems(methods, this::getRenamedMethodSignature);
   }
 
   public ImmutableSet<DexField> rewriteFields(Set<DexField> fields) {
-    ImmutableSet.Builder<DexField> builder = ImmutableSet.builder();
-    for (DexField field : fields) {
-      builder.add(getRenamedFieldSignature(field));
-    }
-    return builder.build();
+    return rewriteItems(fields, this::getRenamedFieldSignature);
   }
 
   public <T> ImmutableMap<DexField, T> rewriteFieldKeys(Map<DexField, T> map) {
@@ -552,11 +544,31 @@ public abstract class GraphLens {
   }
 
   public ImmutableSet<DexType> rewriteTypes(Set<DexType> types) {
-    ImmutableSet.Builder<DexType> builder = new ImmutableSet.Builder<>();
-    for (DexType type : types) {
-      builder.add(lookupType(type));
+    return rewriteItems(types, this::lookupType);
+  }
+
+  private static <T extends DexReference> ImmutableSet<T> rewriteItems(
+      Set<T> items, Function<T, T> rewriting) {
+    // Most items are typically unaffected by a lens. The result is therefore only built from the
+    // first item that is rewritten, and an immutable set that is unaffected is returned as is.
+    ImmutableSet.Builder<T> builder = null;
+    for (T item : items) {
+      T rewritten = rewriting.apply(item);
+      if (builder == null) {
+        if (rewritten == item) {
+          continue;
+        }
+        builder = ImmutableSet.builder();
+        for (T unaffected : items) {
+          if (unaffected == item) {
+            break;
+          }
+          builder.add(unaffected);
+        }
+      }
+      builder.add(rewritten);
     }
-    return builder.build();
+    return builder != null ? builder.build() : ImmutableSet.copyOf(items);
   }
 
   public <T> ImmutableMap<DexType, T> rewriteTypeKeys(Map<DexType, T> map) {
@@ -56,6 +56,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.zip.CRC32;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
@@ -606,7 +607,7 @@ public class JarClassFileReader<T extends DexClass> {
     private final String name;
     private final String desc;
     private final Object value;
-    private FieldTypeSignature fieldSignature;
+    private final Supplier<FieldTypeSignature> fieldSignatureParser;
     private List<DexAnnotation> annotations = null;
 
     public CreateFieldVisitor(
@@ -622,8 +623,8 @@ public class JarClassFileReader<T extends DexClass> {
       this.name = name;
       this.desc = desc;
       this.value = value;
-      this.fieldSignature =
-          GenericSignature.parseFieldTypeSignature(
+      this.fieldSignatureParser =
+          GenericSignature.lazyParseFieldTypeSignature(
               name,
               signature,
               parent.origin,
@@ -656,10 +657,13 @@ public class JarClassFileReader<T extends DexClass> {
             new DexEncodedField(
                 dexField,
                 flags,
-                fieldSignature,
+                FieldTypeSignature.noSignature(),
                 annotationSet,
                 staticValue,
                 AsmUtils.isDeprecated(access));
+        if (fieldSignatureParser != null) {
+          field.setLazyGenericSignature(fieldSignatureParser);
+        }
         if (flags.isStatic()) {
           parent.staticFields.add(field);
         } else {
@@ -728,7 +732,7 @@ public class JarClassFileReader<T extends DexClass> {
     private List<List<DexAnnotation>> parameterAnnotationsLists = null;
     private List<DexValue> parameterNames = null;
     private List<DexValue> parameterFlags = null;
-    private final MethodTypeSignature genericSignature;
+    private final Supplier<MethodTypeSignature> genericSignatureParser;
     final DexMethod method;
     final MethodAccessFlags flags;
     final boolean deprecated;
@@ -756,8 +760,8 @@ public class JarClassFileReader<T extends DexClass> {
         addAnnotation(DexAnnotation.createThrowsAnnotation(
             values, parent.application.getFactory()));
       }
-      genericSignature =
-          GenericSignature.parseMethodSignature(
+      genericSignatureParser =
+          GenericSignature.lazyParseMethodSignature(
               name,
               signature,
               parent.origin,
@@ -888,13 +892,16 @@ public class JarClassFileReader<T extends DexClass> {
           new DexEncodedMethod(
               method,
               flags,
-              genericSignature,
+              MethodTypeSignature.noSignature(),
               createAnnotationSet(annotations, options),
               parameterAnnotationsList,
               code,
               false,
               parent.version,
               deprecated);
+      if (genericSignatureParser != null) {
+        dexMethod.setLazyGenericSignature(genericSignatureParser);
+      }
       Wrapper<DexMethod> signature = MethodSignatureEquivalence.get().wrap(method);
       if (parent.methodSignatures.add(signature)) {
         parent.hasReachabilitySensitiveMethod |= isReachabilitySensitive();
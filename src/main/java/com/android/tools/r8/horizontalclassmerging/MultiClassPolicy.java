@@ -27,4 +27,12 @@ public abstract class MultiClassPolicy extends Policy {
    *     cannot be merged with any other classes they are returned as singleton lists.
    */
   public abstract Collection<MergeGroup> apply(MergeGroup group);
+
+  /**
+   * Returns true if {@link #apply(MergeGroup)} may be called concurrently for different groups.
+   * Policies that memoize information across groups without synchronization must return false.
+   */
+  public boolean isThreadSafe() {
+    return true;
+  }
 }
@@ -5,15 +5,20 @@
 package com.android.tools.r8.horizontalclassmerging;
 
 import com.android.tools.r8.utils.IterableUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This is a simple policy executor that ensures regular sequential execution of policies. It should
  * primarily be readable and correct. The SimplePolicyExecutor should be a reference implementation,
- * against which more efficient policy executors can be compared.
+ * against which more efficient policy executors can be compared. Multi class policies that are
+ * thread safe are applied to the different merge groups concurrently.
  */
 public class PolicyExecutor {
 
@@ -32,18 +37,33 @@ public class PolicyExecutor {
   }
 
   private LinkedList<MergeGroup> applyMultiClassPolicy(
-      MultiClassPolicy policy, LinkedList<MergeGroup> groups) {
-    // For each group apply the multi class policy and add all the new groups together.
+      MultiClassPolicy policy, LinkedList<MergeGroup> groups, ExecutorService executorService)
+      throws ExecutionException {
+    int previousNumberOfClasses = IterableUtils.sumInt(groups, MergeGroup::size);
+    // Apply the multi class policy to each group. The policy is applied to the groups
+    // concurrently if it allows it, in which case the results are returned in the order of the
+    // input groups, so that the resulting grouping is deterministic.
+    Collection<Collection<MergeGroup>> policyGroupsPerGroup;
+    if (policy.isThreadSafe() && groups.size() > 1) {
+      policyGroupsPerGroup =
+          ThreadUtils.processItemsWithResults(groups, policy::apply, executorService);
+    } else {
+      policyGroupsPerGroup = new ArrayList<>(groups.size());
+      for (MergeGroup group : groups) {
+        policyGroupsPerGroup.add(policy.apply(group));
+      }
+    }
+    // Add all the new groups together.
     LinkedList<MergeGroup> newGroups = new LinkedList<>();
-    groups.forEach(
-        group -> {
-          int previousNumberOfClasses = group.size();
-          Collection<MergeGroup> policyGroups = policy.apply(group);
-          policyGroups.forEach(newGroup -> newGroup.applyMetadataFrom(group));
-          policy.numberOfRemovedClasses +=
-              previousNumberOfClasses - IterableUtils.sumInt(policyGroups, MergeGroup::size);
-          newGroups.addAll(policyGroups);
-        });
+    Iterator<MergeGroup> groupIterator = groups.iterator();
+    for (Collection<MergeGroup> policyGroups : policyGroupsPerGroup) {
+      MergeGroup group = groupIterator.next();
+      policyGroups.forEach(newGroup -> newGroup.applyMetadataFrom(group));
+      newGroups.addAll(policyGroups);
+    }
+    assert !groupIterator.hasNext();
+    policy.numberOfRemovedClasses +=
+        previousNumberOfClasses - IterableUtils.sumInt(newGroups, MergeGroup::size);
     return newGroups;
   }
 
@@ -53,7 +73,11 @@ public class PolicyExecutor {
    * class groups.
    */
   public Collection<MergeGroup> run(
-      Collection<MergeGroup> inputGroups, Collection<Policy> policies, Timing timing) {
+      Collection<MergeGroup> inputGroups,
+      Collection<Policy> policies,
+      ExecutorService executorService,
+      Timing timing)
+      throws ExecutionException {
     LinkedList<MergeGroup> linkedGroups;
 
     if (inputGroups instanceof LinkedList) {
@@ -72,7 +96,8 @@ public class PolicyExecutor {
         applySingleClassPolicy((SingleClassPolicy) policy, linkedGroups);
       } else {
         assert policy instanceof MultiClassPolicy;
-        linkedGroups = applyMultiClassPolicy((MultiClassPolicy) policy, linkedGroups);
+        linkedGroups =
+            applyMultiClassPolicy((MultiClassPolicy) policy, linkedGroups, executorService);
       }
       timing.end();
 
@@ -70,4 +70,10 @@ public class NoIndirectRuntimeTypeChecks extends MultiClassSameReferencePolicy<D
   public String getName() {
     return "NoIndirectRuntimeTypeChecks";
   }
+
+  @Override
+  public boolean isThreadSafe() {
+    // The cache is shared between the groups.
+    return false;
+  }
 }
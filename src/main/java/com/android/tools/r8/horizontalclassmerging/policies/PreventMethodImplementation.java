@@ -64,6 +64,12 @@ public class PreventMethodImplementation extends MultiClassPolicy {
     return "PreventMethodImplementation";
   }
 
+  @Override
+  public boolean isThreadSafe() {
+    // The signature caches are shared between the groups.
+    return false;
+  }
+
   private abstract static class SignaturesCache<C extends DexClass> {
     private final Map<DexClass, DexMethodSignatureSet> memoizedSignatures = new IdentityHashMap<>();
 
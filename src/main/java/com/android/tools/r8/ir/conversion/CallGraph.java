@@ -12,6 +12,7 @@ import com.android.tools.r8.ir.conversion.CallSiteInformation.CallGraphBasedCall
 import com.android.tools.r8.shaking.AppInfoWithLiveness;
 import com.android.tools.r8.utils.collections.SortedProgramMethodSet;
 import com.google.common.collect.Sets;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.TreeSet;
@@ -40,27 +41,60 @@ public class CallGraph {
 
     public static Node[] EMPTY_ARRAY = {};
 
+    // Shared by all nodes until the first edge of a kind is added, since many nodes have no
+    // callers, callees, readers or writers.
+    private static final Set<Node> NO_EDGES = Collections.emptySet();
+
     private final ProgramMethod method;
     private int numberOfCallSites = 0;
 
     // Outgoing calls from this method.
-    private final Set<Node> callees = new TreeSet<>();
+    private Set<Node> callees = NO_EDGES;
 
     // Incoming calls to this method.
-    private final Set<Node> callers = new TreeSet<>();
+    private Set<Node> callers = NO_EDGES;
 
     // Incoming field read edges to this method (i.e., the set of methods that read a field written
     // by the current method).
-    private final Set<Node> readers = new TreeSet<>();
+    private Set<Node> readers = NO_EDGES;
 
     // Outgoing field read edges from this method (i.e., the set of methods that write a field read
     // by the current method).
-    private final Set<Node> writers = new TreeSet<>();
+    private Set<Node> writers = NO_EDGES;
+
+    // During concurrent construction the incoming edges (callers and readers) are guarded by the
+    // node itself, and the outgoing edges (callees and writers) are guarded by this lock. The lock
+    // of the incoming edges is always taken first.
+    private final Object outgoingEdgesLock = new Object();
 
     public Node(ProgramMethod method) {
       this.method = method;
     }
 
+    private static Set<Node> mutable(Set<Node> edges) {
+      return edges == NO_EDGES ? new TreeSet<>() : edges;
+    }
+
+    private boolean addCallee(Node callee) {
+      callees = mutable(callees);
+      return callees.add(callee);
+    }
+
+    private boolean addCaller(Node caller) {
+      callers = mutable(callers);
+      return callers.add(caller);
+    }
+
+    private boolean addReader(Node reader) {
+      readers = mutable(readers);
+      return readers.add(reader);
+    }
+
+    private boolean addWriter(Node writer) {
+      writers = mutable(writers);
+      return writers.add(writer);
+    }
+
     public void addCallerConcurrently(Node caller) {
       addCallerConcurrently(caller, false);
     }
@@ -68,19 +102,19 @@ public class CallGraph {
     public void addCallerConcurrently(Node caller, boolean likelySpuriousCallEdge) {
       if (caller != this && !likelySpuriousCallEdge) {
         boolean changedCallers;
-        synchronized (callers) {
-          changedCallers = callers.add(caller);
+        synchronized (this) {
+          changedCallers = addCaller(caller);
           numberOfCallSites++;
         }
         if (changedCallers) {
-          synchronized (caller.callees) {
-            caller.callees.add(this);
+          synchronized (caller.outgoingEdgesLock) {
+            caller.addCallee(this);
           }
           // Avoid redundant field read edges (call edges are considered stronger).
           removeReaderConcurrently(caller);
         }
       } else {
-        synchronized (callers) {
+        synchronized (this) {
           numberOfCallSites++;
         }
       }
@@ -88,18 +122,14 @@ public class CallGraph {
 
     public void addReaderConcurrently(Node reader) {
       if (reader != this) {
-        synchronized (callers) {
+        synchronized (this) {
           if (callers.contains(reader)) {
             // Avoid redundant field read edges (call edges are considered stronger).
             return;
           }
-          boolean readersChanged;
-          synchronized (readers) {
-            readersChanged = readers.add(reader);
-          }
-          if (readersChanged) {
-            synchronized (reader.writers) {
-              reader.writers.add(this);
+          if (addReader(reader)) {
+            synchronized (reader.outgoingEdgesLock) {
+              reader.addWriter(this);
             }
           }
         }
@@ -107,10 +137,10 @@ public class CallGraph {
     }
 
     private void removeReaderConcurrently(Node reader) {
-      synchronized (readers) {
+      synchronized (this) {
         readers.remove(reader);
       }
-      synchronized (reader.writers) {
+      synchronized (reader.outgoingEdgesLock) {
         reader.writers.remove(this);
       }
     }
@@ -51,7 +51,7 @@ abstract class CallGraphBuilderBase {
 
   final AppView<AppInfoWithLiveness> appView;
   private final FieldAccessInfoCollection<?> fieldAccessInfoCollection;
-  final Map<DexMethod, Node> nodes = new IdentityHashMap<>();
+  final Map<DexMethod, Node> nodes = new ConcurrentHashMap<>();
   private final Map<DexMethod, ProgramMethodSet> possibleProgramTargetsCache =
       new ConcurrentHashMap<>();
 
@@ -98,9 +98,11 @@ abstract class CallGraphBuilderBase {
   }
 
   Node getOrCreateNode(ProgramMethod method) {
-    synchronized (nodes) {
-      return nodes.computeIfAbsent(method.getReference(), ignore -> new Node(method));
+    Node node = nodes.get(method.getReference());
+    if (node != null) {
+      return node;
     }
+    return nodes.computeIfAbsent(method.getReference(), ignore -> new Node(method));
   }
 
   abstract boolean verifyAllMethodsWithCodeExists();
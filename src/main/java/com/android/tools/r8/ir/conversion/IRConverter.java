@@ -714,7 +714,8 @@ public class IRConverter {
     //   2) Second inlining pass for dealing with double inline callers.
     printPhase("Post optimization pass");
     if (appView.callSiteOptimizationInfoPropagator() != null) {
-      postMethodProcessorBuilder.put(appView.callSiteOptimizationInfoPropagator());
+      postMethodProcessorBuilder.put(
+          appView.callSiteOptimizationInfoPropagator().methodsToRevisit(executorService));
     }
     if (inliner != null) {
       postMethodProcessorBuilder.put(inliner);
@@ -31,10 +31,12 @@ import com.android.tools.r8.ir.desugar.backports.LongMethodRewrites;
 import com.android.tools.r8.ir.desugar.backports.NumericMethodRewrites;
 import com.android.tools.r8.ir.desugar.backports.ObjectsMethodRewrites;
 import com.android.tools.r8.ir.desugar.backports.OptionalMethodRewrites;
+import com.android.tools.r8.references.MethodReference;
 import com.android.tools.r8.synthesis.SyntheticNaming;
 import com.android.tools.r8.utils.AndroidApiLevel;
 import com.android.tools.r8.utils.AndroidApp;
 import com.android.tools.r8.utils.InternalOptions;
+import com.android.tools.r8.utils.ListUtils;
 import com.android.tools.r8.utils.Timing;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
@@ -44,7 +46,10 @@ import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import org.objectweb.asm.Opcodes;
 
@@ -56,7 +61,9 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
   public BackportedMethodRewriter(AppView<?> appView) {
     assert appView.options().desugarState.isOn();
     this.appView = appView;
-    this.rewritableMethods = new RewritableMethods(appView.options(), appView);
+    this.rewritableMethods =
+        appView.getOrComputeBackportedMethods(
+            () -> new RewritableMethods(appView.options(), appView));
   }
 
   public boolean hasBackports() {
@@ -83,6 +90,11 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
         : null;
   }
 
+  @Override
+  public boolean mayDesugar(InstructionKind kind) {
+    return kind == InstructionKind.INVOKE;
+  }
+
   @Override
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     return instruction.isInvoke()
@@ -147,14 +159,22 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
     return provider;
   }
 
-  private static final class RewritableMethods {
+  public static final class RewritableMethods {
+
+    // The backport tables of the process, shared by all compilations. The tables do not refer to
+    // the items of any DexItemFactory, each compilation binds a table to its own factory.
+    private static final Map<TableKey, List<MethodProviderTemplate>> tables =
+        new ConcurrentHashMap<>();
 
     private final AppView<?> appView;
 
     // Map backported method to a provider for creating the actual target method (with code).
     private final Map<DexMethod, MethodProvider> rewritable = new IdentityHashMap<>();
 
-    RewritableMethods(InternalOptions options, AppView<?> appView) {
+    // The providers created by the initialize methods while computing a table.
+    private List<MethodProvider> initializedProviders;
+
+    private RewritableMethods(InternalOptions options, AppView<?> appView) {
       this.appView = appView;
 
       if (!options.shouldBackportMethods()) {
@@ -163,34 +183,46 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
 
       DexItemFactory factory = options.itemFactory;
 
-      if (options.minApiLevel < AndroidApiLevel.K.getLevel()) {
+      // The Optional and Stream providers are currently not implemented at any API level in
+      // Android. They however require the Optional/Stream class to be present, either through
+      // desugared libraries or natively. If Optional/Stream class is not present, we do not
+      // desugar to avoid confusion in error messages.
+      TableKey key =
+          new TableKey(
+              options.minApiLevel,
+              appView.rewritePrefix.hasRewrittenType(factory.optionalType, appView)
+                  || options.minApiLevel >= AndroidApiLevel.N.getLevel(),
+              appView.rewritePrefix.hasRewrittenType(factory.streamType, appView)
+                  || options.minApiLevel >= AndroidApiLevel.N.getLevel());
+      for (MethodProviderTemplate template :
+          tables.computeIfAbsent(key, ignore -> computeTable(key, factory))) {
+        addProviderIfSupported(template.bind(factory));
+      }
+    }
+
+    private List<MethodProviderTemplate> computeTable(TableKey key, DexItemFactory factory) {
+      initializedProviders = new ArrayList<>();
+      if (key.minApiLevel < AndroidApiLevel.K.getLevel()) {
         initializeAndroidKMethodProviders(factory);
       }
-      if (options.minApiLevel < AndroidApiLevel.N.getLevel()) {
+      if (key.minApiLevel < AndroidApiLevel.N.getLevel()) {
         initializeAndroidNMethodProviders(factory);
       }
-      if (options.minApiLevel < AndroidApiLevel.O.getLevel()) {
+      if (key.minApiLevel < AndroidApiLevel.O.getLevel()) {
         initializeAndroidOMethodProviders(factory);
       }
-      if (options.minApiLevel < AndroidApiLevel.R.getLevel()) {
+      if (key.minApiLevel < AndroidApiLevel.R.getLevel()) {
         initializeAndroidRMethodProviders(factory);
       }
-      if (options.minApiLevel < AndroidApiLevel.S.getLevel()) {
+      if (key.minApiLevel < AndroidApiLevel.S.getLevel()) {
         initializeAndroidSMethodProviders(factory);
       }
-
-      // The following providers are currently not implemented at any API level in Android.
-      // They however require the Optional/Stream class to be present, either through desugared
-      // libraries or natively. If Optional/Stream class is not present, we do not desugar to
-      // avoid confusion in error messages.
-      if (appView.rewritePrefix.hasRewrittenType(factory.optionalType, appView)
-          || options.minApiLevel >= AndroidApiLevel.N.getLevel()) {
+      if (key.hasOptional) {
         initializeJava9OptionalMethodProviders(factory);
         initializeJava10OptionalMethodProviders(factory);
         initializeJava11OptionalMethodProviders(factory);
       }
-      if (appView.rewritePrefix.hasRewrittenType(factory.streamType, appView)
-          || options.minApiLevel >= AndroidApiLevel.N.getLevel()) {
+      if (key.hasStream) {
         initializeStreamMethodProviders(factory);
       }
 
@@ -198,6 +230,11 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
       initializeJava9MethodProviders(factory);
       initializeJava10MethodProviders(factory);
       initializeJava11MethodProviders(factory);
+
+      List<MethodProviderTemplate> table =
+          ImmutableList.copyOf(ListUtils.map(initializedProviders, MethodProvider::toTemplate));
+      initializedProviders = null;
+      return table;
     }
 
     boolean isEmpty() {
@@ -1334,6 +1371,10 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
     }
 
     private void addProvider(MethodProvider generator) {
+      initializedProviders.add(generator);
+    }
+
+    private void addProviderIfSupported(MethodProvider generator) {
       if (appView.options().desugaredLibraryConfiguration.isSupported(generator.method, appView)) {
         // TODO(b/174453232): Remove this after the configuration file format has bee updated
         // with the "rewrite_method" section.
@@ -1361,6 +1402,65 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
     MethodProvider getProvider(DexMethod method) {
       return rewritable.get(method);
     }
+
+    private static final class TableKey {
+
+      private final int minApiLevel;
+      private final boolean hasOptional;
+      private final boolean hasStream;
+
+      TableKey(int minApiLevel, boolean hasOptional, boolean hasStream) {
+        this.minApiLevel = minApiLevel;
+        this.hasOptional = hasOptional;
+        this.hasStream = hasStream;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+        if (!(obj instanceof TableKey)) {
+          return false;
+        }
+        TableKey other = (TableKey) obj;
+        return minApiLevel == other.minApiLevel
+            && hasOptional == other.hasOptional
+            && hasStream == other.hasStream;
+      }
+
+      @Override
+      public int hashCode() {
+        return Objects.hash(minApiLevel, hasOptional, hasStream);
+      }
+    }
+  }
+
+  // A method provider in a form that does not refer to the items of a DexItemFactory.
+  private static final class MethodProviderTemplate {
+
+    private final MethodReference method;
+    private final BiFunction<DexMethod, DexItemFactory, MethodProvider> providerFactory;
+
+    MethodProviderTemplate(
+        DexMethod method, BiFunction<DexMethod, DexItemFactory, MethodProvider> providerFactory) {
+      this.method = method.asMethodReference();
+      this.providerFactory = providerFactory;
+    }
+
+    MethodProvider bind(DexItemFactory factory) {
+      DexType[] parameters =
+          method.getFormalTypes().stream()
+              .map(type -> factory.createType(type.getDescriptor()))
+              .toArray(DexType[]::new);
+      DexType returnType =
+          method.getReturnType() == null
+              ? factory.voidType
+              : factory.createType(method.getReturnType().getDescriptor());
+      DexMethod boundMethod =
+          factory.createMethod(
+              factory.createType(method.getHolderClass().getDescriptor()),
+              factory.createProto(returnType, parameters),
+              method.getMethodName());
+      return providerFactory.apply(boundMethod, factory);
+    }
   }
 
   public abstract static class MethodProvider {
@@ -1377,6 +1477,8 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
         BackportedMethodDesugaringEventConsumer eventConsumer,
         MethodProcessingContext methodProcessingContext,
         LocalStackAllocator localStackAllocator);
+
+    abstract MethodProviderTemplate toTemplate();
   }
 
   private static final class InvokeRewriter extends MethodProvider {
@@ -1397,6 +1499,13 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
         LocalStackAllocator localStackAllocator) {
       return rewriter.rewrite(invoke, appView.dexItemFactory(), localStackAllocator);
     }
+
+    @Override
+    MethodProviderTemplate toTemplate() {
+      MethodInvokeRewriter rewriter = this.rewriter;
+      return new MethodProviderTemplate(
+          method, (boundMethod, factory) -> new InvokeRewriter(boundMethod, rewriter));
+    }
   }
 
   private static class MethodGenerator extends MethodProvider {
@@ -1448,6 +1557,15 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
     public Code generateTemplateMethod(InternalOptions options, DexMethod method) {
       return factory.create(options, method);
     }
+
+    @Override
+    MethodProviderTemplate toTemplate() {
+      TemplateMethodFactory factory = this.factory;
+      String methodName = this.methodName;
+      return new MethodProviderTemplate(
+          method,
+          (boundMethod, itemFactory) -> new MethodGenerator(boundMethod, factory, methodName));
+    }
   }
 
   // Specific subclass to transform virtual methods into static desugared methods.
@@ -1467,6 +1585,18 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
     public DexProto getProto(DexItemFactory itemFactory) {
       return itemFactory.prependTypeToProto(receiverType, super.getProto(itemFactory));
     }
+
+    @Override
+    MethodProviderTemplate toTemplate() {
+      TemplateMethodFactory factory = super.factory;
+      String methodName = super.methodName;
+      String receiverDescriptor = receiverType.toDescriptorString();
+      return new MethodProviderTemplate(
+          method,
+          (boundMethod, itemFactory) ->
+              new StatifyingMethodGenerator(
+                  boundMethod, factory, methodName, itemFactory.createType(receiverDescriptor)));
+    }
   }
 
   private interface TemplateMethodFactory {
@@ -12,6 +12,27 @@ import java.util.Collection;
 /** Interface for desugaring a single class-file instruction. */
 public interface CfInstructionDesugaring {
 
+  /** The kinds of instructions that desugarings are indexed by. */
+  enum InstructionKind {
+    FIELD_INSTRUCTION,
+    INVOKE,
+    INVOKE_DYNAMIC,
+    OTHER;
+
+    public static InstructionKind of(CfInstruction instruction) {
+      if (instruction.isInvoke()) {
+        return INVOKE;
+      }
+      if (instruction.isInvokeDynamic()) {
+        return INVOKE_DYNAMIC;
+      }
+      if (instruction.isFieldInstruction()) {
+        return FIELD_INSTRUCTION;
+      }
+      return OTHER;
+    }
+  }
+
   default void scan(ProgramMethod method, CfInstructionDesugaringEventConsumer eventConsumer) {
     // Default scan is to do nothing.
   }
@@ -34,4 +55,12 @@ public interface CfInstructionDesugaring {
    * <p>This should return true if-and-only-if {@link #desugarInstruction} returns non-null.
    */
   boolean needsDesugaring(CfInstruction instruction, ProgramMethod context);
+
+  /**
+   * Returns false if no instruction of the given kind needs this desugaring. This allows not
+   * querying the desugaring at all for instructions of that kind.
+   */
+  default boolean mayDesugar(InstructionKind kind) {
+    return true;
+  }
 }
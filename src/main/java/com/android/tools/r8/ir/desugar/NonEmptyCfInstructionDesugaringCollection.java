@@ -14,6 +14,7 @@ import com.android.tools.r8.graph.Code;
 import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfClassDesugaringCollection.EmptyCfClassDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfClassDesugaringCollection.NonEmptyCfClassDesugaringCollection;
+import com.android.tools.r8.ir.desugar.CfInstructionDesugaring.InstructionKind;
 import com.android.tools.r8.ir.desugar.invokespecial.InvokeSpecialToSelfDesugaring;
 import com.android.tools.r8.ir.desugar.lambda.LambdaInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.nest.D8NestBasedAccessDesugaring;
@@ -28,8 +29,10 @@ import com.android.tools.r8.utils.ThrowingConsumer;
 import com.google.common.collect.Iterables;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesugaringCollection {
@@ -37,6 +40,11 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
   private final AppView<?> appView;
   private final List<CfInstructionDesugaring> desugarings = new ArrayList<>();
 
+  // The desugarings that may apply to each kind of instruction, such that each instruction is only
+  // dispatched to the desugarings that handle instructions of its kind.
+  private final Map<InstructionKind, List<CfInstructionDesugaring>> desugaringsByKind =
+      new EnumMap<>(InstructionKind.class);
+
   private final NestBasedAccessDesugaring nestBasedAccessDesugaring;
   private final RecordRewriter recordRewriter;
 
@@ -63,6 +71,7 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
       assert !appView.enableWholeProgramOptimizations() : "To be implemented";
       desugarings.add(recordRewriter);
     }
+    indexDesugaringsByKind();
   }
 
   // TODO(b/145775365): special constructor for cf-to-cf compilations with desugaring disabled.
@@ -73,6 +82,23 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
     this.nestBasedAccessDesugaring = null;
     this.recordRewriter = null;
     desugarings.add(invokeSpecialToSelfDesugaring);
+    indexDesugaringsByKind();
+  }
+
+  private void indexDesugaringsByKind() {
+    for (InstructionKind kind : InstructionKind.values()) {
+      List<CfInstructionDesugaring> desugaringsForKind = new ArrayList<>();
+      for (CfInstructionDesugaring desugaring : desugarings) {
+        if (desugaring.mayDesugar(kind)) {
+          desugaringsForKind.add(desugaring);
+        }
+      }
+      desugaringsByKind.put(kind, desugaringsForKind);
+    }
+  }
+
+  private List<CfInstructionDesugaring> getDesugarings(CfInstruction instruction) {
+    return desugaringsByKind.get(InstructionKind.of(instruction));
   }
 
   static NonEmptyCfInstructionDesugaringCollection createForCfToCfNonDesugar(AppView<?> appView) {
@@ -170,7 +196,7 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
       ProgramMethod context,
       MethodProcessingContext methodProcessingContext) {
     // TODO(b/177810578): Migrate other cf-to-cf based desugaring here.
-    Iterator<CfInstructionDesugaring> iterator = desugarings.iterator();
+    Iterator<CfInstructionDesugaring> iterator = getDesugarings(instruction).iterator();
     while (iterator.hasNext()) {
       CfInstructionDesugaring desugaring = iterator.next();
       Collection<CfInstruction> replacement =
@@ -210,8 +236,13 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
   }
 
   private boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
-    return Iterables.any(
-        desugarings, desugaring -> desugaring.needsDesugaring(instruction, context));
+    List<CfInstructionDesugaring> desugaringsForInstruction = getDesugarings(instruction);
+    for (int i = 0; i < desugaringsForInstruction.size(); i++) {
+      if (desugaringsForInstruction.get(i).needsDesugaring(instruction, context)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private static boolean verifyNoOtherDesugaringNeeded(
@@ -288,6 +288,11 @@ public class RecordRewriter implements CfInstructionDesugaring, CfClassDesugarin
     return instructions;
   }
 
+  @Override
+  public boolean mayDesugar(InstructionKind kind) {
+    return kind == InstructionKind.INVOKE || kind == InstructionKind.INVOKE_DYNAMIC;
+  }
+
   @Override
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     assert !instruction.isInitClass();
@@ -35,6 +35,11 @@ public class InvokeSpecialToSelfDesugaring implements CfInstructionDesugaring {
     this.dexItemFactory = appView.dexItemFactory();
   }
 
+  @Override
+  public boolean mayDesugar(InstructionKind kind) {
+    return kind == InstructionKind.INVOKE;
+  }
+
   @Override
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     if (instruction.isInvokeSpecial()) {
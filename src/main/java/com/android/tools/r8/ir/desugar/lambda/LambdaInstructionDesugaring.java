@@ -154,6 +154,11 @@ public class LambdaInstructionDesugaring implements CfInstructionDesugaring {
     return lambdaClass;
   }
 
+  @Override
+  public boolean mayDesugar(InstructionKind kind) {
+    return kind == InstructionKind.INVOKE_DYNAMIC;
+  }
+
   @Override
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     return instruction.isInvokeDynamic()
@@ -116,6 +116,11 @@ public class NestBasedAccessDesugaring implements CfInstructionDesugaring {
         code.asCfCode().getInstructions(), instruction -> needsDesugaring(instruction, method));
   }
 
+  @Override
+  public boolean mayDesugar(InstructionKind kind) {
+    return kind == InstructionKind.FIELD_INSTRUCTION || kind == InstructionKind.INVOKE;
+  }
+
   @Override
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     if (instruction.isFieldInstruction()) {
@@ -81,6 +81,11 @@ public class TwrCloseResourceInstructionDesugaring implements CfInstructionDesug
                                 appView.options(), m)));
   }
 
+  @Override
+  public boolean mayDesugar(InstructionKind kind) {
+    return kind == InstructionKind.INVOKE;
+  }
+
   @Override
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     return instruction.isInvokeStatic()
@@ -38,13 +38,18 @@ import com.android.tools.r8.utils.ForEachable;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.InternalOptions.CallSiteOptimizationOptions;
 import com.android.tools.r8.utils.LazyBox;
+import com.android.tools.r8.utils.ListUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
 import com.android.tools.r8.utils.collections.ProgramMethodSet;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 public class CallSiteOptimizationInfoPropagator implements PostOptimization {
 
@@ -408,28 +413,28 @@ public class CallSiteOptimizationInfoPropagator implements PostOptimization {
 
   @Override
   public ProgramMethodSet methodsToRevisit() {
+    return methodsToRevisit(
+        ListUtils.map(appView.appInfo().classes(), this::computeMethodsToRevisit));
+  }
+
+  /**
+   * Same as {@link #methodsToRevisit()}, but inspects the collected call site optimization info of
+   * the classes concurrently.
+   */
+  public ProgramMethodSet methodsToRevisit(ExecutorService executorService)
+      throws ExecutionException {
+    return methodsToRevisit(
+        ThreadUtils.processItemsWithResults(
+            appView.appInfo().classes(), this::computeMethodsToRevisit, executorService));
+  }
+
+  private ProgramMethodSet methodsToRevisit(
+      Collection<List<ProgramMethod>> targetsToRevisitPerClass) {
     mode = Mode.REVISIT;
     ProgramMethodSet targetsToRevisit = ProgramMethodSet.create();
-    for (DexProgramClass clazz : appView.appInfo().classes()) {
-      clazz.forEachProgramMethodMatching(
-          definition -> {
-            assert !definition.isObsolete();
-            if (definition.shouldNotHaveCode()
-                || !definition.hasCode()
-                || definition.getCode().isEmptyVoidMethod()) {
-              return false;
-            }
-            // TODO(b/139246447): Assert no BOTTOM left.
-            CallSiteOptimizationInfo callSiteOptimizationInfo =
-                definition.getCallSiteOptimizationInfo();
-            return callSiteOptimizationInfo.hasUsefulOptimizationInfo(appView, definition);
-          },
-          method -> {
-            targetsToRevisit.add(method);
-            if (appView.options().testing.callSiteOptimizationInfoInspector != null) {
-              appView.options().testing.callSiteOptimizationInfoInspector.accept(method);
-            }
-          });
+    targetsToRevisitPerClass.forEach(targetsToRevisit::addAll);
+    if (appView.options().testing.callSiteOptimizationInfoInspector != null) {
+      targetsToRevisit.forEach(appView.options().testing.callSiteOptimizationInfoInspector);
     }
     if (revisitedMethods != null) {
       revisitedMethods.addAll(targetsToRevisit);
@@ -437,6 +442,25 @@ public class CallSiteOptimizationInfoPropagator implements PostOptimization {
     return targetsToRevisit;
   }
 
+  private List<ProgramMethod> computeMethodsToRevisit(DexProgramClass clazz) {
+    List<ProgramMethod> targetsToRevisit = new ArrayList<>();
+    clazz.forEachProgramMethodMatching(
+        definition -> {
+          assert !definition.isObsolete();
+          if (definition.shouldNotHaveCode()
+              || !definition.hasCode()
+              || definition.getCode().isEmptyVoidMethod()) {
+            return false;
+          }
+          // TODO(b/139246447): Assert no BOTTOM left.
+          CallSiteOptimizationInfo callSiteOptimizationInfo =
+              definition.getCallSiteOptimizationInfo();
+          return callSiteOptimizationInfo.hasUsefulOptimizationInfo(appView, definition);
+        },
+        targetsToRevisit::add);
+    return targetsToRevisit;
+  }
+
   @Override
   public Collection<CodeOptimization> codeOptimizationsForPostProcessing() {
     // Run IRConverter#optimize.
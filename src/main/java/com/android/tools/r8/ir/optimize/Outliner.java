@@ -69,6 +69,7 @@ import com.android.tools.r8.utils.collections.LongLivedProgramMethodMultisetBuil
 import com.android.tools.r8.utils.collections.ProgramMethodMultiset;
 import com.android.tools.r8.utils.collections.ProgramMethodSet;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -77,6 +78,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -106,7 +108,7 @@ public class Outliner {
 
   /** Result of first step (see {@link Outliner#createOutlineMethodIdentifierGenerator()}. */
   private final List<LongLivedProgramMethodMultisetBuilder> candidateMethodLists =
-      new ArrayList<>();
+      Collections.synchronizedList(new ArrayList<>());
   /** Result of second step (see {@link Outliner#selectMethodsForOutlining()}. */
   private final Map<Outline, List<ProgramMethod>> outlineSites = new HashMap<>();
   /** Result of third step (see {@link Outliner#buildOutlineMethods()}. */
@@ -533,6 +535,10 @@ public class Outliner {
     final List<OutlineInstruction> templateInstructions = new ArrayList<>();
     final public DexType returnType;
 
+    // Structural fingerprint of the outline, computed once since outlines are hashed repeatedly
+    // when grouping the candidates and the outline sites.
+    private final int hash;
+
     private DexProto proto;
 
     // Build an outline over the instructions [start, end[.
@@ -560,6 +566,7 @@ public class Outliner {
           assert false : "Unexpected type of instruction in outlining template.";
         }
       }
+      hash = computeHash();
     }
 
     int argumentCount() {
@@ -599,17 +606,19 @@ public class Outliner {
 
     @Override
     public int hashCode() {
-      final int MAX_HASH_INSTRUCTIONS = 5;
+      return hash;
+    }
 
-      int hash = templateInstructions.size();
-      int hashPart = 0;
-      for (int i = 0; i < templateInstructions.size() && i < MAX_HASH_INSTRUCTIONS; i++) {
-        OutlineInstruction instruction = templateInstructions.get(i);
-        hashPart = hashPart << 4;
-        hashPart += instruction.hashCode();
-        hash = hash * 3 + hashPart;
+    private int computeHash() {
+      // Hash all template instructions, such that outlines that only differ after a common prefix
+      // do not end up in the same bucket.
+      int result = templateInstructions.size();
+      for (OutlineInstruction instruction : templateInstructions) {
+        result = result * 31 + instruction.hashCode();
       }
-      return hash;
+      result = result * 31 + argumentTypes.hashCode();
+      result = result * 31 + argumentMap.hashCode();
+      return result * 31 + Objects.hashCode(returnType);
     }
 
     @Override
@@ -1148,8 +1157,10 @@ public class Outliner {
 
     @Override
     protected void handle(int start, int end, Outline outline) {
-      synchronized (candidateMap) {
-        candidateMap.computeIfAbsent(outline, this::addOutlineMethodList).add(method);
+      LongLivedProgramMethodMultisetBuilder outlineMethods =
+          candidateMap.computeIfAbsent(outline, this::addOutlineMethodList);
+      synchronized (outlineMethods) {
+        outlineMethods.add(method);
       }
     }
 
@@ -1281,7 +1292,7 @@ public class Outliner {
     // out-value of invokes to null), this map must not be used except for identifying methods
     // potentially relevant to outlining. OutlineMethodIdentifier will add method lists to
     // candidateMethodLists whenever it adds an entry to candidateMap.
-    Map<Outline, LongLivedProgramMethodMultisetBuilder> candidateMap = new HashMap<>();
+    Map<Outline, LongLivedProgramMethodMultisetBuilder> candidateMap = new ConcurrentHashMap<>();
     assert candidateMethodLists.isEmpty();
     assert outlineMethodIdentifierGenerator == null;
     outlineMethodIdentifierGenerator =
@@ -68,6 +68,7 @@ import com.android.tools.r8.shaking.KeepInfoCollection;
 import com.android.tools.r8.utils.BooleanUtils;
 import com.android.tools.r8.utils.Reporter;
 import com.android.tools.r8.utils.StringDiagnostic;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.collections.ImmutableInt2ReferenceSortedMap;
 import com.android.tools.r8.utils.collections.ProgramMethodSet;
 import com.google.common.collect.ImmutableMap;
@@ -75,7 +76,9 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.Set;
@@ -374,7 +377,7 @@ public class EnumUnboxer {
       ExecutorService executorService,
       OptimizationFeedbackDelayed feedback)
       throws ExecutionException {
-    EnumDataMap enumDataMap = finishAnalysis();
+    EnumDataMap enumDataMap = finishAnalysis(executorService);
     // At this point the enum unboxing candidates are no longer candidates, they will all be
     // unboxed. We extract the now immutable enums to unbox information and clear the candidate
     // info.
@@ -455,10 +458,10 @@ public class EnumUnboxer {
     keepInfo.mutate(mutator -> mutator.removeKeepInfoForPrunedItems(enumsToUnbox));
   }
 
-  public EnumDataMap finishAnalysis() {
+  public EnumDataMap finishAnalysis(ExecutorService executorService) throws ExecutionException {
     analyzeInitializers();
-    analyzeAccessibility();
-    EnumDataMap enumDataMap = analyzeEnumInstances();
+    analyzeAccessibility(executorService);
+    EnumDataMap enumDataMap = analyzeEnumInstances(executorService);
     assert enumDataMap.getUnboxedEnums().size() == enumUnboxingCandidatesInfo.candidates().size();
     if (debugLogEnabled) {
       reportEnumsAnalysis();
@@ -466,17 +469,33 @@ public class EnumUnboxer {
     return enumDataMap;
   }
 
-  private EnumDataMap analyzeEnumInstances() {
-    ImmutableMap.Builder<DexType, EnumData> builder = ImmutableMap.builder();
+  private EnumDataMap analyzeEnumInstances(ExecutorService executorService)
+      throws ExecutionException {
+    List<DexProgramClass> enumClasses = new ArrayList<>();
+    List<Set<DexField>> requiredInstanceFieldData = new ArrayList<>();
     enumUnboxingCandidatesInfo.forEachCandidateAndRequiredInstanceFieldData(
         (enumClass, fields) -> {
-          EnumData data = buildData(enumClass, fields);
-          if (data == null) {
-            markEnumAsUnboxable(Reason.MISSING_INSTANCE_FIELD_DATA, enumClass);
-            return;
-          }
-          builder.put(enumClass.type, data);
+          enumClasses.add(enumClass);
+          requiredInstanceFieldData.add(fields);
         });
+    // The data of each enum only depends on the enum itself, so it is built concurrently. The
+    // candidates are updated afterwards in the original order.
+    List<EnumData> enumData =
+        new ArrayList<>(
+            ThreadUtils.processItemsWithResults(
+                enumClasses,
+                (enumClass, index) -> buildData(enumClass, requiredInstanceFieldData.get(index)),
+                executorService));
+    ImmutableMap.Builder<DexType, EnumData> builder = ImmutableMap.builder();
+    for (int i = 0; i < enumClasses.size(); i++) {
+      DexProgramClass enumClass = enumClasses.get(i);
+      EnumData data = enumData.get(i);
+      if (data == null) {
+        markEnumAsUnboxable(Reason.MISSING_INSTANCE_FIELD_DATA, enumClass);
+        continue;
+      }
+      builder.put(enumClass.type, data);
+    }
     staticFieldValuesMap.clear();
     return new EnumDataMap(builder.build());
   }
@@ -621,18 +640,25 @@ public class EnumUnboxer {
     return OptionalInt.empty();
   }
 
-  private void analyzeAccessibility() {
+  private void analyzeAccessibility(ExecutorService executorService) throws ExecutionException {
     // Unboxing an enum will require to move its methods to a different class, which may impact
-    // accessibility. For a quick analysis we simply reuse the inliner analysis.
-    enumUnboxingCandidatesInfo.forEachCandidate(
-        enumClass -> {
-          Constraint classConstraint = analyzeAccessibilityInClass(enumClass);
-          if (classConstraint == Constraint.NEVER) {
-            markEnumAsUnboxable(Reason.ACCESSIBILITY, enumClass);
-          } else if (classConstraint == Constraint.PACKAGE) {
-            enumsToUnboxWithPackageRequirement.addProgramClass(enumClass);
-          }
-        });
+    // accessibility. For a quick analysis we simply reuse the inliner analysis. The methods of
+    // each enum are analyzed concurrently, and the candidates are updated afterwards.
+    List<DexProgramClass> enumClasses = new ArrayList<>();
+    enumUnboxingCandidatesInfo.forEachCandidate(enumClasses::add);
+    List<Constraint> classConstraints =
+        new ArrayList<>(
+            ThreadUtils.processItemsWithResults(
+                enumClasses, this::analyzeAccessibilityInClass, executorService));
+    for (int i = 0; i < enumClasses.size(); i++) {
+      DexProgramClass enumClass = enumClasses.get(i);
+      Constraint classConstraint = classConstraints.get(i);
+      if (classConstraint == Constraint.NEVER) {
+        markEnumAsUnboxable(Reason.ACCESSIBILITY, enumClass);
+      } else if (classConstraint == Constraint.PACKAGE) {
+        enumsToUnboxWithPackageRequirement.addProgramClass(enumClass);
+      }
+    }
   }
 
   private Constraint analyzeAccessibilityInClass(DexProgramClass enumClass) {
@@ -45,14 +45,18 @@ import com.android.tools.r8.utils.AsmUtils;
 import com.android.tools.r8.utils.ExceptionUtils;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.PredicateUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.structural.Ordered;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.Sets;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.List;
 import java.util.Optional;
 import java.util.SortedSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
@@ -107,58 +111,103 @@ public class CfApplicationWriter {
         PredicateUtils.isNull(appView.appInfo()::definitionForWithoutExistenceAssert);
   }
 
-  public void write(ClassFileConsumer consumer) {
+  /**
+   * Writes the application to the consumer. The classes are encoded concurrently, but always passed
+   * to the consumer in application order. Each class is passed on as soon as it and all classes
+   * before it are encoded, such that only the classes encoded ahead of order are held in memory.
+   */
+  public void write(ClassFileConsumer consumer, ExecutorService executorService)
+      throws ExecutionException {
     application.timing.begin("CfApplicationWriter.write");
     try {
-      writeApplication(consumer);
+      writeApplication(consumer, executorService);
     } finally {
       application.timing.end();
     }
   }
 
-  private void writeApplication(ClassFileConsumer consumer) {
+  private void writeApplication(ClassFileConsumer consumer, ExecutorService executorService)
+      throws ExecutionException {
     if (proguardMapSupplier != null && options.proguardMapConsumer != null) {
       marker.setPgMapId(proguardMapSupplier.writeProguardMap().get());
     }
     Optional<String> markerString =
         marker.isRelocator() ? Optional.empty() : Optional.of(marker.toString());
     LensCodeRewriterUtils rewriter = new LensCodeRewriterUtils(appView);
-    for (DexProgramClass clazz : application.classes()) {
-      assert SyntheticNaming.verifyNotInternalSynthetic(clazz.getType());
-      try {
-        writeClass(clazz, consumer, rewriter, markerString);
-      } catch (ClassTooLargeException e) {
-        throw appView
-            .options()
-            .reporter
-            .fatalError(
-                new ConstantPoolOverflowDiagnostic(
-                    clazz.getOrigin(),
-                    Reference.classFromBinaryName(e.getClassName()),
-                    e.getConstantPoolCount()));
-      } catch (MethodTooLargeException e) {
-        throw appView
-            .options()
-            .reporter
-            .fatalError(
-                new CodeSizeOverflowDiagnostic(
-                    clazz.getOrigin(),
-                    Reference.methodFromDescriptor(
-                        Reference.classFromBinaryName(e.getClassName()).getDescriptor(),
-                        e.getMethodName(),
-                        e.getDescriptor()),
-                    e.getCodeSize()));
-      }
-    }
+    List<DexProgramClass> classes = application.classes();
+    OrderedClassFileConsumer orderedConsumer = new OrderedClassFileConsumer(consumer, classes);
+    ThreadUtils.processItems(
+        classes,
+        (clazz, index) ->
+            orderedConsumer.accept(index, writeClassOrFail(clazz, rewriter, markerString)),
+        executorService);
+    assert orderedConsumer.isDone();
     ApplicationWriter.supplyAdditionalConsumers(
         application, appView, graphLens, namingLens, options);
   }
 
-  private void writeClass(
-      DexProgramClass clazz,
-      ClassFileConsumer consumer,
-      LensCodeRewriterUtils rewriter,
-      Optional<String> markerString) {
+  /** Passes the encoded classes to the consumer in application order. */
+  private class OrderedClassFileConsumer {
+
+    private final ClassFileConsumer consumer;
+    private final List<DexProgramClass> classes;
+    private final byte[][] pending;
+    private int next = 0;
+
+    OrderedClassFileConsumer(ClassFileConsumer consumer, List<DexProgramClass> classes) {
+      this.consumer = consumer;
+      this.classes = classes;
+      this.pending = new byte[classes.size()][];
+    }
+
+    synchronized void accept(int index, byte[] result) {
+      pending[index] = result;
+      while (next < pending.length && pending[next] != null) {
+        byte[] bytes = pending[next];
+        pending[next] = null;
+        String desc = namingLens.lookupDescriptor(classes.get(next).type).toString();
+        ExceptionUtils.withConsumeResourceHandler(
+            options.reporter, handler -> consumer.accept(ByteDataView.of(bytes), desc, handler));
+        next++;
+      }
+    }
+
+    synchronized boolean isDone() {
+      return next == pending.length;
+    }
+  }
+
+  private byte[] writeClassOrFail(
+      DexProgramClass clazz, LensCodeRewriterUtils rewriter, Optional<String> markerString) {
+    assert SyntheticNaming.verifyNotInternalSynthetic(clazz.getType());
+    try {
+      return writeClass(clazz, rewriter, markerString);
+    } catch (ClassTooLargeException e) {
+      throw appView
+          .options()
+          .reporter
+          .fatalError(
+              new ConstantPoolOverflowDiagnostic(
+                  clazz.getOrigin(),
+                  Reference.classFromBinaryName(e.getClassName()),
+                  e.getConstantPoolCount()));
+    } catch (MethodTooLargeException e) {
+      throw appView
+          .options()
+          .reporter
+          .fatalError(
+              new CodeSizeOverflowDiagnostic(
+                  clazz.getOrigin(),
+                  Reference.methodFromDescriptor(
+                      Reference.classFromBinaryName(e.getClassName()).getDescriptor(),
+                      e.getMethodName(),
+                      e.getDescriptor()),
+                  e.getCodeSize()));
+    }
+  }
+
+  private byte[] writeClass(
+      DexProgramClass clazz, LensCodeRewriterUtils rewriter, Optional<String> markerString) {
     ClassWriter writer = new ClassWriter(0);
     if (markerString.isPresent()) {
       int markerStringPoolIndex = writer.newConst(markerString.get());
@@ -183,7 +232,6 @@ public class CfApplicationWriter {
     if (clazz.isDeprecated()) {
       access = AsmUtils.withDeprecated(access);
     }
-    String desc = namingLens.lookupDescriptor(clazz.type).toString();
     String name = namingLens.lookupInternalName(clazz.type);
     String signature = clazz.getClassSignature().toRenamedString(namingLens, isTypeMissing);
     String superName =
@@ -259,8 +307,7 @@ public class CfApplicationWriter {
       // so don't assert that verifyCf() returns true.
       verifyCf(result);
     }
-    ExceptionUtils.withConsumeResourceHandler(
-        options.reporter, handler -> consumer.accept(ByteDataView.of(result), desc, handler));
+    return result;
   }
 
   private CfVersion getClassFileVersion(DexEncodedMethod method) {
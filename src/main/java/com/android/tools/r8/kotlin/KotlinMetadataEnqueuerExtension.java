@@ -6,7 +6,10 @@ package com.android.tools.r8.kotlin;
 
 import static com.android.tools.r8.kotlin.KotlinClassMetadataReader.hasKotlinClassMetadataAnnotation;
 import static com.android.tools.r8.kotlin.KotlinMetadataUtils.NO_KOTLIN_INFO;
+import static com.android.tools.r8.utils.ExceptionUtils.unwrapExecutionException;
 
+import com.android.tools.r8.Diagnostic;
+import com.android.tools.r8.DiagnosticsHandler;
 import com.android.tools.r8.graph.AppView;
 import com.android.tools.r8.graph.DexClass;
 import com.android.tools.r8.graph.DexDefinitionSupplier;
@@ -22,8 +25,16 @@ import com.android.tools.r8.ir.optimize.info.OptimizationFeedback;
 import com.android.tools.r8.ir.optimize.info.OptimizationFeedbackSimple;
 import com.android.tools.r8.shaking.Enqueuer;
 import com.android.tools.r8.shaking.Enqueuer.EnqueuerDefinitionSupplier;
+import com.android.tools.r8.utils.Reporter;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
 
@@ -32,14 +43,17 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
   private final AppView<?> appView;
   private final EnqueuerDefinitionSupplier enqueuerDefinitionSupplier;
   private final Set<DexType> prunedTypes;
+  private final ExecutorService executorService;
 
   public KotlinMetadataEnqueuerExtension(
       AppView<?> appView,
       EnqueuerDefinitionSupplier enqueuerDefinitionSupplier,
-      Set<DexType> prunedTypes) {
+      Set<DexType> prunedTypes,
+      ExecutorService executorService) {
     this.appView = appView;
     this.enqueuerDefinitionSupplier = enqueuerDefinitionSupplier;
     this.prunedTypes = prunedTypes;
+    this.executorService = executorService;
   }
 
   private KotlinMetadataDefinitionSupplier definitionsForContext(ProgramDefinition context) {
@@ -57,8 +71,9 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
             || kotlinMetadataClass.isNotProgramClass()
             || enqueuer.isPinned(kotlinMetadataType);
     if (enqueuer.getMode().isInitialTreeShaking()) {
-      Set<DexMethod> keepByteCodeFunctions = Sets.newIdentityHashSet();
+      Set<DexMethod> keepByteCodeFunctions = Sets.newConcurrentHashSet();
       Set<DexProgramClass> localOrAnonymousClasses = Sets.newIdentityHashSet();
+      List<DexProgramClass> classesToModel = new ArrayList<>();
       enqueuer.forAllLiveClasses(
           clazz -> {
             assert clazz.getKotlinInfo().isNoKotlinInformation();
@@ -71,19 +86,40 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
               clazz.removeAnnotations(
                   annotation -> annotation.getAnnotationType() == kotlinMetadataType);
             } else {
-              clazz.setKotlinInfo(
-                  KotlinClassMetadataReader.getKotlinInfo(
-                      appView.dexItemFactory().kotlin,
-                      clazz,
-                      appView.dexItemFactory(),
-                      appView.options().reporter,
-                      method -> keepByteCodeFunctions.add(method.getReference())));
-              if (clazz.getEnclosingMethodAttribute() != null
-                  && clazz.getEnclosingMethodAttribute().getEnclosingMethod() != null) {
-                localOrAnonymousClasses.add(clazz);
-              }
+              classesToModel.add(clazz);
             }
           });
+      // Reading the metadata only depends on the class itself, so the classes are modeled
+      // concurrently. The diagnostics of each class are collected and reported afterwards in the
+      // order of the classes, such that the output does not depend on the scheduling.
+      Collection<CollectedDiagnostics> diagnostics;
+      try {
+        diagnostics =
+            ThreadUtils.processItemsWithResults(
+                classesToModel,
+                clazz -> {
+                  CollectedDiagnostics classDiagnostics = new CollectedDiagnostics();
+                  clazz.setKotlinInfo(
+                      KotlinClassMetadataReader.getKotlinInfo(
+                          appView.dexItemFactory().kotlin,
+                          clazz,
+                          appView.dexItemFactory(),
+                          new Reporter(classDiagnostics),
+                          method -> keepByteCodeFunctions.add(method.getReference())));
+                  return classDiagnostics;
+                },
+                executorService);
+      } catch (ExecutionException e) {
+        throw unwrapExecutionException(e);
+      }
+      diagnostics.forEach(
+          classDiagnostics -> classDiagnostics.reportTo(appView.options().reporter));
+      for (DexProgramClass clazz : classesToModel) {
+        if (clazz.getEnclosingMethodAttribute() != null
+            && clazz.getEnclosingMethodAttribute().getEnclosingMethod() != null) {
+          localOrAnonymousClasses.add(clazz);
+        }
+      }
       appView.setCfByteCodePassThrough(keepByteCodeFunctions);
       for (DexProgramClass localOrAnonymousClass : localOrAnonymousClasses) {
         EnclosingMethodAttribute enclosingAttribute =
@@ -119,6 +155,30 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
         });
   }
 
+  private static class CollectedDiagnostics implements DiagnosticsHandler {
+
+    private final List<Consumer<Reporter>> diagnostics = new ArrayList<>();
+
+    @Override
+    public void error(Diagnostic error) {
+      diagnostics.add(reporter -> reporter.error(error));
+    }
+
+    @Override
+    public void warning(Diagnostic warning) {
+      diagnostics.add(reporter -> reporter.warning(warning));
+    }
+
+    @Override
+    public void info(Diagnostic info) {
+      diagnostics.add(reporter -> reporter.info(info));
+    }
+
+    void reportTo(Reporter reporter) {
+      diagnostics.forEach(diagnostic -> diagnostic.accept(reporter));
+    }
+  }
+
   private boolean verifyKotlinMetadataModeledForAllClasses(
       Enqueuer enqueuer, boolean keepMetadata) {
     enqueuer.forAllLiveClasses(
@@ -30,10 +30,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ClassNameMapper implements ProguardMap {
 
@@ -127,7 +127,7 @@ public class ClassNameMapper implements ProguardMap {
   private final ImmutableMap<String, ClassNamingForNameMapper> classNameMappings;
   private BiMapContainer<String, String> nameMapping;
 
-  private final Map<Signature, Signature> signatureMap = new HashMap<>();
+  private final Map<Signature, Signature> signatureMap = new ConcurrentHashMap<>();
 
   private ClassNameMapper(Map<String, ClassNamingForNameMapper.Builder> classNameMappings) {
     ImmutableMap.Builder<String, ClassNamingForNameMapper> builder = ImmutableMap.builder();
@@ -146,12 +146,8 @@ public class ClassNameMapper implements ProguardMap {
   }
 
   private Signature canonicalizeSignature(Signature signature) {
-    Signature result = signatureMap.get(signature);
-    if (result != null) {
-      return result;
-    }
-    signatureMap.put(signature, signature);
-    return signature;
+    Signature result = signatureMap.putIfAbsent(signature, signature);
+    return result != null ? result : signature;
   }
 
   public MethodSignature getRenamedMethodSignature(DexMethod method) {
@@ -25,13 +25,18 @@ import com.android.tools.r8.naming.MethodNameMinifier.MethodRenaming;
 import com.android.tools.r8.shaking.AppInfoWithLiveness;
 import com.android.tools.r8.utils.SymbolGenerationUtils;
 import com.android.tools.r8.utils.SymbolGenerationUtils.MixedCasing;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
+import com.android.tools.r8.utils.Timing.TimingMerger;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -63,22 +68,42 @@ public class Minifier {
             appView, classRenaming, MethodRenaming.empty(), FieldRenaming.empty())
         .verifyNoCollisions(appView.appInfo().classes(), appView.dexItemFactory());
 
+    // The method and field renamings only depend on the class renaming and are computed
+    // independently of each other, so compute them concurrently.
     MemberNamingStrategy minifyMembers = new MinifierMemberNamingStrategy(appView);
-    timing.begin("MinifyMethods");
-    MethodRenaming methodRenaming =
-        new MethodNameMinifier(appView, subtypingInfo, minifyMembers)
-            .computeRenaming(interfaces, timing);
-    timing.end();
+    TimingMerger merger =
+        timing.beginMerger("MinifyMembers", ThreadUtils.getNumberOfThreads(executorService));
+    Timing methodTiming = Timing.create("MinifyMethods", appView.options());
+    Future<MethodRenaming> methodRenamingFuture =
+        ThreadUtils.processAsynchronously(
+            () -> {
+              MethodRenaming result =
+                  new MethodNameMinifier(appView, subtypingInfo, minifyMembers)
+                      .computeRenaming(interfaces, methodTiming);
+              methodTiming.end();
+              return result;
+            },
+            executorService);
+    Timing fieldTiming = Timing.create("MinifyFields", appView.options());
+    Future<FieldRenaming> fieldRenamingFuture =
+        ThreadUtils.processAsynchronously(
+            () -> {
+              FieldRenaming result =
+                  new FieldNameMinifier(appView, subtypingInfo, minifyMembers)
+                      .computeRenaming(interfaces, fieldTiming);
+              fieldTiming.end();
+              return result;
+            },
+            executorService);
+    ThreadUtils.awaitFutures(ImmutableList.of(methodRenamingFuture, fieldRenamingFuture));
+    MethodRenaming methodRenaming = Futures.getDone(methodRenamingFuture);
+    FieldRenaming fieldRenaming = Futures.getDone(fieldRenamingFuture);
+    merger.add(ImmutableList.of(methodTiming, fieldTiming));
+    merger.end();
 
     assert new MinifiedRenaming(appView, classRenaming, methodRenaming, FieldRenaming.empty())
         .verifyNoCollisions(appView.appInfo().classes(), appView.dexItemFactory());
 
-    timing.begin("MinifyFields");
-    FieldRenaming fieldRenaming =
-        new FieldNameMinifier(appView, subtypingInfo, minifyMembers)
-            .computeRenaming(interfaces, timing);
-    timing.end();
-
     NamingLens lens = new MinifiedRenaming(appView, classRenaming, methodRenaming, fieldRenaming);
     assert lens.verifyNoCollisions(appView.appInfo().classes(), appView.dexItemFactory());
 
@@ -94,7 +94,7 @@ public class Relocator {
               GraphLens.getIdentityLens(),
               namingLens,
               null)
-          .write(command.getConsumer());
+          .write(command.getConsumer(), executor);
       options.printWarnings();
     } catch (ExecutionException e) {
       throw unwrapExecutionException(e);
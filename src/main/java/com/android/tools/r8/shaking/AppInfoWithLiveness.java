@@ -60,6 +60,7 @@ import com.android.tools.r8.utils.WorkList;
 import com.android.tools.r8.utils.collections.ProgramMethodSet;
 import com.android.tools.r8.utils.structural.Ordered;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
 import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
@@ -328,8 +329,11 @@ public class AppInfoWithLiveness extends AppInfoWithClassHierarchy
         previous.getMainDexInfo().withoutPrunedItems(prunedItems),
         previous.deadProtoTypes,
         previous.getMissingClasses(),
+        // Materialized such that repeated pruning does not stack up difference views, which would
+        // make each liveness query walk all previously removed classes.
         prunedItems.hasRemovedClasses()
-            ? Sets.difference(previous.liveTypes, prunedItems.getRemovedClasses())
+            ? ImmutableSet.copyOf(
+                Sets.difference(previous.liveTypes, prunedItems.getRemovedClasses()))
             : previous.liveTypes,
         previous.targetedMethods,
         previous.failedMethodResolutionTargets,
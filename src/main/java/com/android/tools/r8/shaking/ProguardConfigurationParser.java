@@ -5,6 +5,8 @@ package com.android.tools.r8.shaking;
 
 import static com.android.tools.r8.utils.DescriptorUtils.javaTypeToDescriptor;
 
+import com.android.tools.r8.Diagnostic;
+import com.android.tools.r8.DiagnosticsHandler;
 import com.android.tools.r8.Version;
 import com.android.tools.r8.dex.Constants;
 import com.android.tools.r8.graph.DexField;
@@ -21,12 +23,14 @@ import com.android.tools.r8.shaking.ProguardTypeMatcher.ClassOrType;
 import com.android.tools.r8.shaking.ProguardTypeMatcher.MatchSpecificType;
 import com.android.tools.r8.shaking.ProguardWildcard.BackReference;
 import com.android.tools.r8.shaking.ProguardWildcard.Pattern;
+import com.android.tools.r8.utils.AbortException;
 import com.android.tools.r8.utils.IdentifierUtils;
 import com.android.tools.r8.utils.InternalOptions.PackageObfuscationMode;
 import com.android.tools.r8.utils.LongInterval;
 import com.android.tools.r8.utils.Reporter;
 import com.android.tools.r8.utils.StringDiagnostic;
 import com.android.tools.r8.utils.StringUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.io.File;
@@ -36,8 +40,11 @@ import java.nio.CharBuffer;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.IntPredicate;
@@ -185,18 +192,111 @@ public class ProguardConfigurationParser {
 
   public void parse(List<ProguardConfigurationSource> sources) {
     for (ProguardConfigurationSource source : sources) {
+      parseSource(source);
+    }
+    reporter.failIfPendingErrors();
+  }
+
+  /**
+   * Parses the sources concurrently and adds the result of each source to the configuration in
+   * the order of the sources. The resulting configuration and the reported diagnostics are the
+   * same as for {@link #parse(List)}.
+   */
+  public void parse(List<ProguardConfigurationSource> sources, ExecutorService executorService)
+      throws ExecutionException {
+    Collection<ParsedSource> parsedSources =
+        ThreadUtils.processItemsWithResults(
+            sources, source -> new ParsedSource(source).parse(), executorService);
+    parsedSources.forEach(ParsedSource::addToConfiguration);
+    reporter.failIfPendingErrors();
+  }
+
+  private void parseSource(ProguardConfigurationSource source) {
+    try {
+      new ProguardConfigurationSourceParser(source, null).parse();
+    } catch (IOException e) {
+      reportReadError(source, e);
+    } catch (ProguardRuleParserException e) {
+      reporter.error(e);
+    }
+  }
+
+  private void reportReadError(ProguardConfigurationSource source, IOException e) {
+    reporter.error(new StringDiagnostic("Failed to read file: " + e.getMessage(),
+        source.getOrigin()));
+  }
+
+  /**
+   * The builder updates and diagnostics from parsing a source, recorded such that they can be
+   * applied to the configuration after the preceding sources.
+   */
+  private class ParsedSource implements DiagnosticsHandler {
+
+    private final ProguardConfigurationSource source;
+    private final List<Consumer<Builder>> actions = new ArrayList<>();
+    private final Reporter sourceReporter = new Reporter(this);
+
+    private IOException readError;
+    private ProguardRuleParserException parseError;
+    private AbortException abort;
+    private boolean dependsOnPrecedingSources;
+
+    ParsedSource(ProguardConfigurationSource source) {
+      this.source = source;
+    }
+
+    ParsedSource parse() {
       try {
-        new ProguardConfigurationSourceParser(source).parse();
+        new ProguardConfigurationSourceParser(source, this).parse();
       } catch (IOException e) {
-        reporter.error(new StringDiagnostic("Failed to read file: " + e.getMessage(),
-            source.getOrigin()));
+        readError = e;
       } catch (ProguardRuleParserException e) {
-        reporter.error(e);
+        parseError = e;
+      } catch (AbortException e) {
+        abort = e;
+      } catch (DependsOnPrecedingSourcesException e) {
+        dependsOnPrecedingSources = true;
       }
+      return this;
+    }
+
+    void addToConfiguration() {
+      if (dependsOnPrecedingSources) {
+        parseSource(source);
+        return;
+      }
+      actions.forEach(action -> action.accept(configurationBuilder));
+      if (readError != null) {
+        reportReadError(source, readError);
+      } else if (parseError != null) {
+        reporter.error(parseError);
+      } else if (abort != null) {
+        throw abort;
+      }
+    }
+
+    @Override
+    public void error(Diagnostic error) {
+      actions.add(builder -> reporter.error(error));
+    }
+
+    @Override
+    public void warning(Diagnostic warning) {
+      actions.add(builder -> reporter.warning(warning));
+    }
+
+    @Override
+    public void info(Diagnostic info) {
+      actions.add(builder -> reporter.info(info));
     }
-    reporter.failIfPendingErrors();
   }
 
+  /**
+   * Thrown when parsing a source ahead of the preceding sources needs configuration state that
+   * the preceding sources may change.
+   */
+  private static class DependsOnPrecedingSourcesException extends RuntimeException {}
+
   private enum IdentifierType {
     PACKAGE_NAME,
     CLASS_NAME,
@@ -204,6 +304,8 @@ public class ProguardConfigurationParser {
   }
 
   private class ProguardConfigurationSourceParser {
+    private final ParsedSource parsedSource;
+    private final Reporter reporter;
     private final String name;
     private final String contents;
     private int position = 0;
@@ -213,12 +315,37 @@ public class ProguardConfigurationParser {
     private Path baseDirectory;
     private final Origin origin;
 
-    ProguardConfigurationSourceParser(ProguardConfigurationSource source) throws IOException {
+    ProguardConfigurationSourceParser(ProguardConfigurationSource source, ParsedSource parsedSource)
+        throws IOException {
       // Strip any leading BOM here so it is not included in the text position.
       contents = StringUtils.stripLeadingBOM(source.get());
       baseDirectory = source.getBaseDirectory();
       name = source.getName();
       this.origin = source.getOrigin();
+      this.parsedSource = parsedSource;
+      this.reporter =
+          parsedSource == null
+              ? ProguardConfigurationParser.this.reporter
+              : parsedSource.sourceReporter;
+    }
+
+    private void configure(Consumer<Builder> action) {
+      if (parsedSource == null) {
+        action.accept(configurationBuilder);
+      } else {
+        parsedSource.actions.add(action);
+      }
+    }
+
+    private void addRule(ProguardConfigurationRule rule) {
+      configure(builder -> builder.addRule(rule));
+    }
+
+    private PackageObfuscationMode getPackageObfuscationMode() {
+      if (parsedSource != null) {
+        throw new DependsOnPrecedingSourcesException();
+      }
+      return configurationBuilder.getPackageObfuscationMode();
     }
 
     public void parse() throws ProguardRuleParserException {
@@ -227,12 +354,17 @@ public class ProguardConfigurationParser {
       } while (parseOption());
       // This may be unknown, but we want to always ensure that we don't attribute lines to the
       // wrong configuration.
-      configurationBuilder.addParsedConfiguration(
-          "# The proguard configuration file for the following section is " + origin.toString());
+      configure(
+          builder ->
+              builder.addParsedConfiguration(
+                  "# The proguard configuration file for the following section is "
+                      + origin.toString()));
 
       // Collect the parsed configuration.
-      configurationBuilder.addParsedConfiguration(contents.substring(positionAfterInclude));
-      configurationBuilder.addParsedConfiguration("# End of content from " + origin.toString());
+      String parsedConfiguration = contents.substring(positionAfterInclude);
+      configure(builder -> builder.addParsedConfiguration(parsedConfiguration));
+      configure(
+          builder -> builder.addParsedConfiguration("# End of content from " + origin.toString()));
     }
 
     private boolean parseOption() throws ProguardRuleParserException {
@@ -258,33 +390,37 @@ public class ProguardConfigurationParser {
       } else if (acceptString("renamesourcefileattribute")) {
         skipWhitespace();
         if (isOptionalArgumentGiven()) {
-          configurationBuilder.setRenameSourceFileAttribute(acceptQuotedOrUnquotedString());
+          String renameSourceFileAttribute = acceptQuotedOrUnquotedString();
+          configure(builder -> builder.setRenameSourceFileAttribute(renameSourceFileAttribute));
         } else {
-          configurationBuilder.setRenameSourceFileAttribute("");
+          configure(builder -> builder.setRenameSourceFileAttribute(""));
         }
       } else if (acceptString("keepattributes")) {
         parseKeepAttributes();
       } else if (acceptString("keeppackagenames")) {
-        parsePackageFilter(configurationBuilder::addKeepPackageNamesPattern);
+        parsePackageFilter(
+            (isNegated, pattern) ->
+                configure(builder -> builder.addKeepPackageNamesPattern(isNegated, pattern)));
       } else if (acceptString("keepparameternames")) {
-        configurationBuilder.setKeepParameterNames(true, origin, getPosition(optionStart));
+        Position optionPosition = getPosition(optionStart);
+        configure(builder -> builder.setKeepParameterNames(true, origin, optionPosition));
       } else if (acceptString("checkdiscard")) {
         ProguardCheckDiscardRule rule = parseCheckDiscardRule(optionStart);
-        configurationBuilder.addRule(rule);
+        addRule(rule);
       } else if (acceptString("checkenumstringsdiscarded")) {
         // Not supported, ignore.
         parseCheckDiscardRule(optionStart);
       } else if (acceptString("keepdirectories")) {
-        configurationBuilder.enableKeepDirectories();
-        parsePathFilter(configurationBuilder::addKeepDirectories);
+        configure(builder -> builder.enableKeepDirectories());
+        parsePathFilter(pattern -> configure(builder -> builder.addKeepDirectories(pattern)));
       } else if (acceptString("keep")) {
         ProguardKeepRule rule = parseKeepRule(optionStart);
-        configurationBuilder.addRule(rule);
+        addRule(rule);
       } else if (acceptString("whyareyoukeeping")) {
         ProguardWhyAreYouKeepingRule rule = parseWhyAreYouKeepingRule(optionStart);
-        configurationBuilder.addRule(rule);
+        addRule(rule);
       } else if (acceptString("dontoptimize")) {
-        configurationBuilder.disableOptimization();
+        configure(builder -> builder.disableOptimization());
       } else if (acceptString("optimizationpasses")) {
         skipWhitespace();
         Integer expectedOptimizationPasses = acceptInteger();
@@ -294,43 +430,51 @@ public class ProguardConfigurationParser {
         }
         infoIgnoringOptions("optimizationpasses", optionStart);
       } else if (acceptString("dontobfuscate")) {
-        configurationBuilder.disableObfuscation();
+        configure(builder -> builder.disableObfuscation());
       } else if (acceptString("dontshrink")) {
-        configurationBuilder.disableShrinking();
+        configure(builder -> builder.disableShrinking());
       } else if (acceptString("printusage")) {
-        configurationBuilder.setPrintUsage(true);
+        configure(builder -> builder.setPrintUsage(true));
         skipWhitespace();
         if (isOptionalArgumentGiven()) {
-          configurationBuilder.setPrintUsageFile(parseFileName(false));
+          Path file = parseFileName(false);
+          configure(builder -> builder.setPrintUsageFile(file));
         }
       } else if (acceptString("shrinkunusedprotofields")) {
-        configurationBuilder.enableProtoShrinking();
+        configure(builder -> builder.enableProtoShrinking());
       } else if (acceptString("verbose")) {
-        configurationBuilder.setVerbose(true);
+        configure(builder -> builder.setVerbose(true));
       } else if (acceptString("ignorewarnings")) {
-        configurationBuilder.setIgnoreWarnings(true);
+        configure(builder -> builder.setIgnoreWarnings(true));
       } else if (acceptString("dontwarn")) {
-        parseClassFilter(configurationBuilder::addDontWarnPattern);
+        parseClassFilter(pattern -> configure(builder -> builder.addDontWarnPattern(pattern)));
       } else if (acceptString("dontnote")) {
-        parseClassFilter(configurationBuilder::addDontNotePattern);
+        parseClassFilter(pattern -> configure(builder -> builder.addDontNotePattern(pattern)));
       } else if (acceptString(REPACKAGE_CLASSES)) {
-        if (configurationBuilder.getPackageObfuscationMode() == PackageObfuscationMode.FLATTEN) {
-          warnOverridingOptions(REPACKAGE_CLASSES, FLATTEN_PACKAGE_HIERARCHY, optionStart);
-        }
+        StringDiagnostic overridingWarning =
+            overridingOptionsWarning(REPACKAGE_CLASSES, FLATTEN_PACKAGE_HIERARCHY, optionStart);
+        configure(
+            builder -> {
+              if (builder.getPackageObfuscationMode() == PackageObfuscationMode.FLATTEN) {
+                ProguardConfigurationParser.this.reporter.warning(overridingWarning);
+              }
+            });
         skipWhitespace();
         char quote = acceptQuoteIfPresent();
         if (isQuote(quote)) {
-          configurationBuilder.setPackagePrefix(parsePackageNameOrEmptyString());
+          String packagePrefix = parsePackageNameOrEmptyString();
+          configure(builder -> builder.setPackagePrefix(packagePrefix));
           expectClosingQuote(quote);
         } else {
           if (hasNextChar('-')) {
-            configurationBuilder.setPackagePrefix("");
+            configure(builder -> builder.setPackagePrefix(""));
           } else {
-            configurationBuilder.setPackagePrefix(parsePackageNameOrEmptyString());
+            String packagePrefix = parsePackageNameOrEmptyString();
+            configure(builder -> builder.setPackagePrefix(packagePrefix));
           }
         }
       } else if (acceptString(FLATTEN_PACKAGE_HIERARCHY)) {
-        if (configurationBuilder.getPackageObfuscationMode() == PackageObfuscationMode.REPACKAGE) {
+        if (getPackageObfuscationMode() == PackageObfuscationMode.REPACKAGE) {
           warnOverridingOptions(REPACKAGE_CLASSES, FLATTEN_PACKAGE_HIERARCHY, optionStart);
           skipWhitespace();
           if (isOptionalArgumentGiven()) {
@@ -340,44 +484,50 @@ public class ProguardConfigurationParser {
           skipWhitespace();
           char quote = acceptQuoteIfPresent();
           if (isQuote(quote)) {
-            configurationBuilder.setFlattenPackagePrefix(parsePackageNameOrEmptyString());
+            String packagePrefix = parsePackageNameOrEmptyString();
+            configure(builder -> builder.setFlattenPackagePrefix(packagePrefix));
             expectClosingQuote(quote);
           } else {
             if (hasNextChar('-')) {
-              configurationBuilder.setFlattenPackagePrefix("");
+              configure(builder -> builder.setFlattenPackagePrefix(""));
             } else {
-              configurationBuilder.setFlattenPackagePrefix(parsePackageNameOrEmptyString());
+              String packagePrefix = parsePackageNameOrEmptyString();
+              configure(builder -> builder.setFlattenPackagePrefix(packagePrefix));
             }
           }
         }
       } else if (acceptString("overloadaggressively")) {
-        configurationBuilder.setOverloadAggressively(true);
+        configure(builder -> builder.setOverloadAggressively(true));
       } else if (acceptString("allowaccessmodification")) {
-        configurationBuilder.setAllowAccessModification(true);
+        configure(builder -> builder.setAllowAccessModification(true));
       } else if (acceptString("printconfiguration")) {
-        configurationBuilder.setPrintConfiguration(true);
+        configure(builder -> builder.setPrintConfiguration(true));
         skipWhitespace();
         if (isOptionalArgumentGiven()) {
-          configurationBuilder.setPrintConfigurationFile(parseFileName(false));
+          Path file = parseFileName(false);
+          configure(builder -> builder.setPrintConfigurationFile(file));
         }
       } else if (acceptString("printmapping")) {
-        configurationBuilder.setPrintMapping(true);
+        configure(builder -> builder.setPrintMapping(true));
         skipWhitespace();
         if (isOptionalArgumentGiven()) {
-          configurationBuilder.setPrintMappingFile(parseFileName(false));
+          Path file = parseFileName(false);
+          configure(builder -> builder.setPrintMappingFile(file));
         }
       } else if (acceptString("applymapping")) {
-        configurationBuilder.setApplyMappingFile(parseFileName(false));
+        Path file = parseFileName(false);
+        configure(builder -> builder.setApplyMappingFile(file));
       } else if (acceptString("assumenosideeffects")) {
         ProguardAssumeNoSideEffectRule rule = parseAssumeNoSideEffectsRule(optionStart);
-        configurationBuilder.addRule(rule);
+        addRule(rule);
       } else if (acceptString("assumevalues")) {
         ProguardAssumeValuesRule rule = parseAssumeValuesRule(optionStart);
-        configurationBuilder.addRule(rule);
+        addRule(rule);
       } else if (acceptString("include")) {
         // Collect the parsed configuration until the include.
-        configurationBuilder.addParsedConfiguration(
-            contents.substring(positionAfterInclude, position - ("include".length() + 1)));
+        String parsedConfiguration =
+            contents.substring(positionAfterInclude, position - ("include".length() + 1));
+        configure(builder -> builder.addParsedConfiguration(parsedConfiguration));
         skipWhitespace();
         parseInclude();
         positionAfterInclude = position;
@@ -385,43 +535,52 @@ public class ProguardConfigurationParser {
         skipWhitespace();
         baseDirectory = parseFileName(false);
       } else if (acceptString("injars")) {
-        configurationBuilder.addInjars(parseClassPath());
+        List<FilteredClassPath> classPath = parseClassPath();
+        configure(builder -> builder.addInjars(classPath));
       } else if (acceptString("libraryjars")) {
-        configurationBuilder.addLibraryJars(parseClassPath());
+        List<FilteredClassPath> classPath = parseClassPath();
+        configure(builder -> builder.addLibraryJars(classPath));
       } else if (acceptString("printseeds")) {
-        configurationBuilder.setPrintSeeds(true);
+        configure(builder -> builder.setPrintSeeds(true));
         skipWhitespace();
         if (isOptionalArgumentGiven()) {
-          configurationBuilder.setSeedFile(parseFileName(false));
+          Path file = parseFileName(false);
+          configure(builder -> builder.setSeedFile(file));
         }
       } else if (acceptString("obfuscationdictionary")) {
-        configurationBuilder.setObfuscationDictionary(parseFileName(false));
+        Path file = parseFileName(false);
+        configure(builder -> builder.setObfuscationDictionary(file));
       } else if (acceptString("classobfuscationdictionary")) {
-        configurationBuilder.setClassObfuscationDictionary(parseFileName(false));
+        Path file = parseFileName(false);
+        configure(builder -> builder.setClassObfuscationDictionary(file));
       } else if (acceptString("packageobfuscationdictionary")) {
-        configurationBuilder.setPackageObfuscationDictionary(parseFileName(false));
+        Path file = parseFileName(false);
+        configure(builder -> builder.setPackageObfuscationDictionary(file));
       } else if (acceptString("alwaysinline")) {
         InlineRule rule = parseInlineRule(InlineRule.Type.ALWAYS, optionStart);
-        configurationBuilder.addRule(rule);
+        addRule(rule);
       } else if (acceptString("adaptclassstrings")) {
-        parseClassFilter(configurationBuilder::addAdaptClassStringsPattern);
+        parseClassFilter(
+            pattern -> configure(builder -> builder.addAdaptClassStringsPattern(pattern)));
       } else if (acceptString("adaptresourcefilenames")) {
-        parsePathFilter(configurationBuilder::addAdaptResourceFilenames);
+        parsePathFilter(
+            pattern -> configure(builder -> builder.addAdaptResourceFilenames(pattern)));
       } else if (acceptString("adaptresourcefilecontents")) {
-        parsePathFilter(configurationBuilder::addAdaptResourceFileContents);
+        parsePathFilter(
+            pattern -> configure(builder -> builder.addAdaptResourceFileContents(pattern)));
       } else if (acceptString("identifiernamestring")) {
-        configurationBuilder.addRule(parseIdentifierNameStringRule(optionStart));
+        addRule(parseIdentifierNameStringRule(optionStart));
       } else if (acceptString("if")) {
-        configurationBuilder.addRule(parseIfRule(optionStart));
+        addRule(parseIfRule(optionStart));
       } else if (acceptString("addconfigurationdebugging")) {
-        configurationBuilder.setConfigurationDebugging(true);
+        configure(builder -> builder.setConfigurationDebugging(true));
       } else if (acceptString("dontusemixedcaseclassnames")) {
-        configurationBuilder.setDontUseMixedCaseClassnames(true);
+        configure(builder -> builder.setDontUseMixedCaseClassnames(true));
       } else if (acceptString("maximumremovedandroidloglevel")) {
         skipWhitespace();
         Integer maxRemovedAndroidLogLevel = acceptInteger();
         if (maxRemovedAndroidLogLevel != null) {
-          configurationBuilder.setMaxRemovedAndroidLogLevel(maxRemovedAndroidLogLevel);
+          configure(builder -> builder.setMaxRemovedAndroidLogLevel(maxRemovedAndroidLogLevel));
         } else {
           throw parseError("Expected integer", getPosition());
         }
@@ -444,93 +603,91 @@ public class ProguardConfigurationParser {
         if (acceptString("assumemayhavesideeffects")) {
           ProguardAssumeMayHaveSideEffectsRule rule =
               parseAssumeMayHaveSideEffectsRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("forceinline")) {
           InlineRule rule = parseInlineRule(InlineRule.Type.FORCE, optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           // Insert a matching -checkdiscard rule to ensure force inlining happens.
           ProguardCheckDiscardRule ruled = rule.asProguardCheckDiscardRule();
-          configurationBuilder.addRule(ruled);
+          addRule(ruled);
           return true;
         }
         if (acceptString("keepconstantarguments")) {
           ConstantArgumentRule rule = parseConstantArgumentRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("keepunusedarguments")) {
           UnusedArgumentRule rule = parseUnusedArgumentRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("alwaysclassinline")) {
           ClassInlineRule rule = parseClassInlineRule(ClassInlineRule.Type.ALWAYS, optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("neverclassinline")) {
           ClassInlineRule rule = parseClassInlineRule(ClassInlineRule.Type.NEVER, optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("neverinline")) {
           InlineRule rule = parseInlineRule(InlineRule.Type.NEVER, optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("neversinglecallerinline")) {
           InlineRule rule = parseInlineRule(InlineRule.Type.NEVER_SINGLE_CALLER, optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString(NoUnusedInterfaceRemovalRule.RULE_NAME)) {
           ProguardConfigurationRule rule = parseNoUnusedInterfaceRemovalRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString(NoVerticalClassMergingRule.RULE_NAME)) {
           ProguardConfigurationRule rule = parseNoVerticalClassMergingRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString(NoHorizontalClassMergingRule.RULE_NAME)) {
           ProguardConfigurationRule rule = parseNoHorizontalClassMergingRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("neverpropagatevalue")) {
           MemberValuePropagationRule rule =
               parseMemberValuePropagationRule(MemberValuePropagationRule.Type.NEVER, optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
         if (acceptString("neverreprocessclassinitializer")) {
-          configurationBuilder.addRule(
+          addRule(
               parseReprocessClassInitializerRule(
                   ReprocessClassInitializerRule.Type.NEVER, optionStart));
           return true;
         }
         if (acceptString("neverreprocessmethod")) {
-          configurationBuilder.addRule(
-              parseReprocessMethodRule(ReprocessMethodRule.Type.NEVER, optionStart));
+          addRule(parseReprocessMethodRule(ReprocessMethodRule.Type.NEVER, optionStart));
           return true;
         }
         if (acceptString("reprocessclassinitializer")) {
-          configurationBuilder.addRule(
+          addRule(
               parseReprocessClassInitializerRule(
                   ReprocessClassInitializerRule.Type.ALWAYS, optionStart));
           return true;
         }
         if (acceptString("reprocessmethod")) {
-          configurationBuilder.addRule(
-              parseReprocessMethodRule(ReprocessMethodRule.Type.ALWAYS, optionStart));
+          addRule(parseReprocessMethodRule(ReprocessMethodRule.Type.ALWAYS, optionStart));
           return true;
         }
         if (acceptString("whyareyounotinlining")) {
           WhyAreYouNotInliningRule rule = parseWhyAreYouNotInliningRule(optionStart);
-          configurationBuilder.addRule(rule);
+          addRule(rule);
           return true;
         }
       }
@@ -592,7 +749,8 @@ public class ProguardConfigurationParser {
       TextPosition start = getPosition();
       Path included = parseFileName(false);
       try {
-        new ProguardConfigurationSourceParser(new ProguardConfigurationSourceFile(included))
+        new ProguardConfigurationSourceParser(
+                new ProguardConfigurationSourceFile(included), parsedSource)
             .parse();
       } catch (FileNotFoundException | NoSuchFileException e) {
         throw parseError("Included file '" + included.toString() + "' not found",
@@ -619,7 +777,7 @@ public class ProguardConfigurationParser {
       if (attributesPatterns.isEmpty()) {
         throw parseError("Expected attribute pattern list");
       }
-      configurationBuilder.addKeepAttributePatterns(attributesPatterns);
+      configure(builder -> builder.addKeepAttributePatterns(attributesPatterns));
     }
 
     private boolean skipFlag(String name) {
@@ -2116,8 +2274,13 @@ public class ProguardConfigurationParser {
     }
 
     private void warnOverridingOptions(String optionName, String victim, TextPosition start) {
-      reporter.warning(new StringDiagnostic(
-          "Option -" + optionName + " overrides -" + victim, origin, getPosition(start)));
+      reporter.warning(overridingOptionsWarning(optionName, victim, start));
+    }
+
+    private StringDiagnostic overridingOptionsWarning(
+        String optionName, String victim, TextPosition start) {
+      return new StringDiagnostic(
+          "Option -" + optionName + " overrides -" + victim, origin, getPosition(start));
     }
 
     private void warnUnusualCharacters(
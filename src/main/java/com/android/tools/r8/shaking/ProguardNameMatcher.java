@@ -4,7 +4,6 @@
 package com.android.tools.r8.shaking;
 
 import com.android.tools.r8.shaking.ProguardConfigurationParser.IdentifierPatternWithWildcards;
-import com.android.tools.r8.shaking.ProguardWildcard.BackReference;
 import com.android.tools.r8.shaking.ProguardWildcard.Pattern;
 import com.google.common.collect.ImmutableList;
 import java.util.Collections;
@@ -32,48 +31,37 @@ public abstract class ProguardNameMatcher {
   private static boolean matchFieldOrMethodNameImpl(
       String pattern, int patternIndex,
       String name, int nameIndex,
-      List<ProguardWildcard> wildcards, int wildcardIndex) {
-    ProguardWildcard wildcard;
-    Pattern wildcardPattern;
-    BackReference backReference;
+      List<ProguardWildcard> wildcards, int wildcardIndex,
+      WildcardCaptures captures) {
     for (int i = patternIndex; i < pattern.length(); i++) {
       char patternChar = pattern.charAt(i);
       switch (patternChar) {
         case '*':
-          wildcard = wildcards.get(wildcardIndex);
-          assert wildcard.isPattern();
-          wildcardPattern = wildcard.asPattern();
+          assert wildcards.get(wildcardIndex).isPattern();
           // Match the rest of the pattern against the rest of the name.
           for (int nextNameIndex = nameIndex; nextNameIndex <= name.length(); nextNameIndex++) {
-            wildcardPattern.setCaptured(name.substring(nameIndex, nextNameIndex));
+            captures.capture(wildcardIndex, nameIndex, nextNameIndex);
             if (matchFieldOrMethodNameImpl(
-                pattern, i + 1, name, nextNameIndex, wildcards, wildcardIndex + 1)) {
+                pattern, i + 1, name, nextNameIndex, wildcards, wildcardIndex + 1, captures)) {
               return true;
             }
           }
           return false;
         case '?':
-          wildcard = wildcards.get(wildcardIndex);
-          assert wildcard.isPattern();
+          assert wildcards.get(wildcardIndex).isPattern();
           if (nameIndex == name.length()) {
             return false;
           }
-          wildcardPattern = wildcard.asPattern();
-          wildcardPattern.setCaptured(name.substring(nameIndex, nameIndex + 1));
+          captures.capture(wildcardIndex, nameIndex, nameIndex + 1);
           nameIndex++;
           wildcardIndex++;
           break;
         case '<':
-          wildcard = wildcards.get(wildcardIndex);
-          assert wildcard.isBackReference();
-          backReference = wildcard.asBackReference();
-          String captured = backReference.getCaptured();
-          if (captured == null
-              || name.length() < nameIndex + captured.length()
-              || !captured.equals(name.substring(nameIndex, nameIndex + captured.length()))) {
+          assert wildcards.get(wildcardIndex).isBackReference();
+          nameIndex = captures.matchBackReference(wildcardIndex, nameIndex);
+          if (nameIndex < 0) {
             return false;
           }
-          nameIndex = nameIndex + captured.length();
           wildcardIndex++;
           i = pattern.indexOf(">", i);
           break;
@@ -146,8 +134,11 @@ public abstract class ProguardNameMatcher {
 
     @Override
     public boolean matches(String name) {
-      boolean matched = matchFieldOrMethodNameImpl(pattern, 0, name, 0, wildcards, 0);
-      if (!matched) {
+      WildcardCaptures captures = new WildcardCaptures(wildcards, name);
+      boolean matched = matchFieldOrMethodNameImpl(pattern, 0, name, 0, wildcards, 0, captures);
+      if (matched) {
+        captures.commit();
+      } else {
         wildcards.forEach(ProguardWildcard::clearCaptured);
       }
       return matched;
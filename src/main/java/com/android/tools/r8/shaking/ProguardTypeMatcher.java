@@ -391,8 +391,12 @@ public abstract class ProguardTypeMatcher {
     public boolean matches(DexType type) {
       // TODO(herhut): Translate pattern to work on descriptors instead.
       String typeName = type.toSourceString();
-      boolean matched = matchClassOrTypeNameImpl(pattern, 0, typeName, 0, wildcards, 0, kind);
-      if (!matched) {
+      WildcardCaptures captures = new WildcardCaptures(wildcards, typeName);
+      boolean matched =
+          matchClassOrTypeNameImpl(pattern, 0, typeName, 0, wildcards, 0, kind, captures);
+      if (matched) {
+        captures.commit();
+      } else {
         wildcards.forEach(ProguardWildcard::clearCaptured);
       }
       return matched;
@@ -492,17 +496,13 @@ public abstract class ProguardTypeMatcher {
         String pattern, int patternIndex,
         String name, int nameIndex,
         List<ProguardWildcard> wildcards, int wildcardIndex,
-        ClassOrType kind) {
-      ProguardWildcard wildcard;
-      Pattern wildcardPattern;
-      BackReference backReference;
+        ClassOrType kind,
+        WildcardCaptures captures) {
       for (int i = patternIndex; i < pattern.length(); i++) {
         char patternChar = pattern.charAt(i);
         switch (patternChar) {
           case '*':
-            wildcard = wildcards.get(wildcardIndex);
-            assert wildcard.isPattern();
-            wildcardPattern = wildcard.asPattern();
+            assert wildcards.get(wildcardIndex).isPattern();
 
             boolean includeSeparators = pattern.length() > (i + 1) && pattern.charAt(i + 1) == '*';
             boolean includeAll =
@@ -516,7 +516,7 @@ public abstract class ProguardTypeMatcher {
 
             // Fast cases for the common case where a pattern ends with  '*', '**', or '***'.
             if (nextPatternIndex == pattern.length()) {
-              wildcardPattern.setCaptured(name.substring(nameIndex));
+              captures.capture(wildcardIndex, nameIndex, name.length());
               if (includeAll) {
                 return true;
               }
@@ -529,7 +529,7 @@ public abstract class ProguardTypeMatcher {
 
             // Match the rest of the pattern against the (non-empty) rest of the class name.
             for (int nextNameIndex = nameIndex; nextNameIndex < name.length(); nextNameIndex++) {
-              wildcardPattern.setCaptured(name.substring(nameIndex, nextNameIndex));
+              captures.capture(wildcardIndex, nameIndex, nextNameIndex);
               if (!includeSeparators) {
                 if (name.charAt(nextNameIndex) == '.') {
                   return matchClassOrTypeNameImpl(
@@ -539,49 +539,44 @@ public abstract class ProguardTypeMatcher {
                       nextNameIndex,
                       wildcards,
                       wildcardIndex + 1,
-                      kind);
+                      kind,
+                      captures);
                 }
               }
               if (kind == ClassOrType.TYPE && name.charAt(nextNameIndex) == '[') {
                 return matchClassOrTypeNameImpl(
                     pattern, nextPatternIndex, name, nextNameIndex, wildcards, wildcardIndex + 1,
-                    kind);
+                    kind, captures);
               }
               if (matchClassOrTypeNameImpl(
                   pattern, nextPatternIndex, name, nextNameIndex, wildcards, wildcardIndex + 1,
-                  kind)) {
+                  kind, captures)) {
                 return true;
               }
             }
 
             // Finally, check the case where the '*', '**', or '***' eats all of the class name.
-            wildcardPattern.setCaptured(name.substring(nameIndex));
+            captures.capture(wildcardIndex, nameIndex, name.length());
             return matchClassOrTypeNameImpl(
-                pattern, nextPatternIndex, name, name.length(), wildcards, wildcardIndex + 1, kind);
+                pattern, nextPatternIndex, name, name.length(), wildcards, wildcardIndex + 1, kind,
+                captures);
 
           case '?':
-            wildcard = wildcards.get(wildcardIndex);
-            assert wildcard.isPattern();
+            assert wildcards.get(wildcardIndex).isPattern();
             if (nameIndex == name.length() || name.charAt(nameIndex) == '.') {
               return false;
             }
-            wildcardPattern = wildcard.asPattern();
-            wildcardPattern.setCaptured(name.substring(nameIndex, nameIndex + 1));
+            captures.capture(wildcardIndex, nameIndex, nameIndex + 1);
             nameIndex++;
             wildcardIndex++;
             break;
 
           case '<':
-            wildcard = wildcards.get(wildcardIndex);
-            assert wildcard.isBackReference();
-            backReference = wildcard.asBackReference();
-            String captured = backReference.getCaptured();
-            if (captured == null
-                || name.length() < nameIndex + captured.length()
-                || !captured.equals(name.substring(nameIndex, nameIndex + captured.length()))) {
+            assert wildcards.get(wildcardIndex).isBackReference();
+            nameIndex = captures.matchBackReference(wildcardIndex, nameIndex);
+            if (nameIndex < 0) {
               return false;
             }
-            nameIndex = nameIndex + captured.length();
             wildcardIndex++;
             i = pattern.indexOf(">", i);
             break;
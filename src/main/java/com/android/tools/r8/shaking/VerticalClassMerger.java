@@ -56,6 +56,7 @@ import com.android.tools.r8.utils.Box;
 import com.android.tools.r8.utils.FieldSignatureEquivalence;
 import com.android.tools.r8.utils.MethodSignatureEquivalence;
 import com.android.tools.r8.utils.OptionalBool;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
 import com.android.tools.r8.utils.TraversalContinuation;
 import com.android.tools.r8.utils.collections.BidirectionalManyToOneHashMap;
@@ -77,6 +78,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -225,7 +227,8 @@ public class VerticalClassMerger {
       DexApplication application,
       AppView<AppInfoWithLiveness> appView,
       ExecutorService executorService,
-      Timing timing) {
+      Timing timing)
+      throws ExecutionException {
     this.application = application;
     this.appInfo = appView.appInfo();
     this.appView = appView;
@@ -236,32 +239,41 @@ public class VerticalClassMerger {
     this.lensBuilder = new VerticalClassMergerGraphLens.Builder(appView.dexItemFactory());
     this.timing = timing;
 
-    Iterable<DexProgramClass> classes = application.classesWithDeterministicOrder();
+    List<DexProgramClass> classes = application.classesWithDeterministicOrder();
     initializePinnedTypes(classes); // Must be initialized prior to mergeCandidates.
     initializeMergeCandidates(classes);
   }
 
-  private void initializeMergeCandidates(Iterable<DexProgramClass> classes) {
-    for (DexProgramClass sourceClass : classes) {
-      DexType singleSubtype = subtypingInfo.getSingleDirectSubtype(sourceClass.type);
-      if (singleSubtype == null) {
-        continue;
-      }
-      DexProgramClass targetClass = asProgramClassOrNull(appView.definitionFor(singleSubtype));
-      if (targetClass == null) {
-        continue;
-      }
-      if (!isMergeCandidate(sourceClass, targetClass, pinnedTypes)) {
-        continue;
-      }
-      if (!isStillMergeCandidate(sourceClass, targetClass)) {
-        continue;
-      }
-      if (mergeMayLeadToIllegalAccesses(sourceClass, targetClass)) {
-        continue;
-      }
-      mergeCandidates.add(sourceClass);
+  private void initializeMergeCandidates(List<DexProgramClass> classes)
+      throws ExecutionException {
+    // No classes have been merged at this point, so the candidate checks only read the program and
+    // the pinned types. Therefore, the checks are performed concurrently, and the candidates are
+    // subsequently added in the deterministic order of the given classes.
+    Collection<Boolean> isMergeCandidate =
+        ThreadUtils.processItemsWithResults(
+            classes, this::computeIsMergeCandidate, executorService);
+    Iterator<DexProgramClass> classIterator = classes.iterator();
+    for (boolean value : isMergeCandidate) {
+      DexProgramClass sourceClass = classIterator.next();
+      if (value) {
+        mergeCandidates.add(sourceClass);
+      }
+    }
+    assert !classIterator.hasNext();
+  }
+
+  private boolean computeIsMergeCandidate(DexProgramClass sourceClass) {
+    DexType singleSubtype = subtypingInfo.getSingleDirectSubtype(sourceClass.type);
+    if (singleSubtype == null) {
+      return false;
+    }
+    DexProgramClass targetClass = asProgramClassOrNull(appView.definitionFor(singleSubtype));
+    if (targetClass == null) {
+      return false;
     }
+    return isMergeCandidate(sourceClass, targetClass, pinnedTypes)
+        && isStillMergeCandidate(sourceClass, targetClass)
+        && !mergeMayLeadToIllegalAccesses(sourceClass, targetClass);
   }
 
   // Returns a set of types that must not be merged into other types.
@@ -0,0 +1,65 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.shaking;
+
+import com.android.tools.r8.shaking.ProguardWildcard.BackReference;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The parts of a name captured by the wildcards of a pattern while matching the name.
+ *
+ * <p>The captures are recorded as offsets into the name, such that backtracking over the possible
+ * matches of a wildcard does not create a substring for each attempt. The captured strings are only
+ * set on the wildcards of the pattern once the entire pattern has matched.
+ */
+final class WildcardCaptures {
+
+  private final List<ProguardWildcard> wildcards;
+  private final String name;
+  private final int[] offsets;
+
+  WildcardCaptures(List<ProguardWildcard> wildcards, String name) {
+    this.wildcards = wildcards;
+    this.name = name;
+    this.offsets = new int[2 * wildcards.size()];
+    Arrays.fill(offsets, -1);
+  }
+
+  void capture(int wildcardIndex, int start, int end) {
+    assert wildcards.get(wildcardIndex).isPattern();
+    offsets[2 * wildcardIndex] = start;
+    offsets[2 * wildcardIndex + 1] = end;
+  }
+
+  /**
+   * Returns the index in the name after the back reference at the given wildcard index, or -1 if
+   * the name does not contain the referenced capture at the given index.
+   */
+  int matchBackReference(int wildcardIndex, int nameIndex) {
+    BackReference backReference = wildcards.get(wildcardIndex).asBackReference();
+    for (int i = 0; i < wildcardIndex; i++) {
+      if (wildcards.get(i) == backReference.reference) {
+        // The reference is to a wildcard of this pattern, which has not been set yet.
+        int start = offsets[2 * i];
+        int length = offsets[2 * i + 1] - start;
+        return name.regionMatches(nameIndex, name, start, length) ? nameIndex + length : -1;
+      }
+    }
+    String captured = backReference.getCaptured();
+    if (captured == null || !name.startsWith(captured, nameIndex)) {
+      return -1;
+    }
+    return nameIndex + captured.length();
+  }
+
+  void commit() {
+    for (int i = 0; i < wildcards.size(); i++) {
+      ProguardWildcard wildcard = wildcards.get(i);
+      if (wildcard.isPattern() && offsets[2 * i] >= 0) {
+        wildcard.asPattern().setCaptured(name.substring(offsets[2 * i], offsets[2 * i + 1]));
+      }
+    }
+  }
+}
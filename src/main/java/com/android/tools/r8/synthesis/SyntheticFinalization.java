@@ -28,6 +28,7 @@ import com.android.tools.r8.shaking.MainDexInfo;
 import com.android.tools.r8.synthesis.SyntheticNaming.SyntheticKind;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.SetUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.collections.BidirectionalManyToOneRepresentativeHashMap;
 import com.android.tools.r8.utils.collections.BidirectionalManyToOneRepresentativeMap;
 import com.android.tools.r8.utils.collections.MutableBidirectionalManyToOneRepresentativeMap;
@@ -42,9 +43,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 
 public class SyntheticFinalization {
@@ -161,10 +165,12 @@ public class SyntheticFinalization {
     this.committed = committed;
   }
 
-  public static void finalize(AppView<AppInfo> appView) {
+  public static void finalize(AppView<AppInfo> appView, ExecutorService executorService)
+      throws ExecutionException {
     assert !appView.appInfo().hasClassHierarchy();
     assert !appView.appInfo().hasLiveness();
-    Result result = appView.getSyntheticItems().computeFinalSynthetics(appView);
+    Result result =
+        appView.getSyntheticItems().computeFinalSynthetics(appView, executorService);
     appView.setAppInfo(new AppInfo(result.commit, result.mainDexInfo));
     if (result.lens != null) {
       appView.setAppInfo(
@@ -177,9 +183,12 @@ public class SyntheticFinalization {
     appView.pruneItems(result.prunedItems);
   }
 
-  public static void finalizeWithClassHierarchy(AppView<AppInfoWithClassHierarchy> appView) {
+  public static void finalizeWithClassHierarchy(
+      AppView<AppInfoWithClassHierarchy> appView, ExecutorService executorService)
+      throws ExecutionException {
     assert !appView.appInfo().hasLiveness();
-    Result result = appView.getSyntheticItems().computeFinalSynthetics(appView);
+    Result result =
+        appView.getSyntheticItems().computeFinalSynthetics(appView, executorService);
     appView.setAppInfo(appView.appInfo().rebuildWithClassHierarchy(result.commit));
     appView.setAppInfo(appView.appInfo().rebuildWithMainDexInfo(result.mainDexInfo));
     if (result.lens != null) {
@@ -193,15 +202,19 @@ public class SyntheticFinalization {
     appView.pruneItems(result.prunedItems);
   }
 
-  public static void finalizeWithLiveness(AppView<AppInfoWithLiveness> appView) {
-    Result result = appView.getSyntheticItems().computeFinalSynthetics(appView);
+  public static void finalizeWithLiveness(
+      AppView<AppInfoWithLiveness> appView, ExecutorService executorService)
+      throws ExecutionException {
+    Result result =
+        appView.getSyntheticItems().computeFinalSynthetics(appView, executorService);
     appView.setAppInfo(appView.appInfo().rebuildWithLiveness(result.commit));
     appView.setAppInfo(appView.appInfo().rebuildWithMainDexInfo(result.mainDexInfo));
     appView.rewriteWithLens(result.lens);
     appView.pruneItems(result.prunedItems);
   }
 
-  Result computeFinalSynthetics(AppView<?> appView) {
+  Result computeFinalSynthetics(AppView<?> appView, ExecutorService executorService)
+      throws ExecutionException {
     assert verifyNoNestedSynthetics();
     DexApplication application;
     Builder lensBuilder = new Builder();
@@ -216,9 +229,17 @@ public class SyntheticFinalization {
           buildLensAndProgram(
               appView,
               computeEquivalences(
-                  appView, committed.getNonLegacyMethods().values(), generators, lensBuilder),
+                  appView,
+                  committed.getNonLegacyMethods().values(),
+                  generators,
+                  lensBuilder,
+                  executorService),
               computeEquivalences(
-                  appView, committed.getNonLegacyClasses().values(), generators, lensBuilder),
+                  appView,
+                  committed.getNonLegacyClasses().values(),
+                  generators,
+                  lensBuilder,
+                  executorService),
               lensBuilder,
               (clazz, reference) -> finalClassesBuilder.put(clazz.getType(), reference),
               (clazz, reference) -> finalMethodsBuilder.put(clazz.getType(), reference),
@@ -258,7 +279,9 @@ public class SyntheticFinalization {
           AppView<?> appView,
           ImmutableCollection<R> references,
           Map<String, NumberGenerator> generators,
-          Builder lensBuilder) {
+          Builder lensBuilder,
+          ExecutorService executorService)
+          throws ExecutionException {
     boolean intermediate = appView.options().intermediate;
     Map<DexType, D> definitions = lookupDefinitions(appView, references);
     ClassToFeatureSplitMap classToFeatureSplitMap =
@@ -272,14 +295,16 @@ public class SyntheticFinalization {
             appView.dexItemFactory(),
             appView.graphLens(),
             classToFeatureSplitMap,
-            synthetics);
+            synthetics,
+            executorService);
     return computeActualEquivalences(
         potentialEquivalences,
         generators,
         appView,
         intermediate,
         classToFeatureSplitMap,
-        lensBuilder);
+        lensBuilder,
+        executorService);
   }
 
   private boolean isNotSyntheticType(DexType type) {
@@ -466,26 +491,33 @@ public class SyntheticFinalization {
           AppView<?> appView,
           boolean intermediate,
           ClassToFeatureSplitMap classToFeatureSplitMap,
-          Builder lensBuilder) {
+          Builder lensBuilder,
+          ExecutorService executorService)
+          throws ExecutionException {
+    // Split each set of potential equivalences into the actual equivalence groups. This is done
+    // concurrently for the different sets of potential equivalences. The resulting groups are
+    // subsequently sorted, which makes the naming independent of the order of the groups here.
+    Collection<List<EquivalenceGroup<T>>> groupsPerPotentialEquivalence =
+        ThreadUtils.processItemsWithResults(
+            potentialEquivalences,
+            members ->
+                computeEquivalenceGroups(
+                    members,
+                    intermediate,
+                    appView.graphLens(),
+                    classToFeatureSplitMap,
+                    synthetics),
+            executorService);
     Map<String, List<EquivalenceGroup<T>>> groupsPerPrefix = new HashMap<>();
-    potentialEquivalences.forEach(
-        members -> {
-          List<List<T>> groups =
-              groupEquivalent(
-                  members, intermediate, appView.graphLens(), classToFeatureSplitMap, synthetics);
-          for (List<T> group : groups) {
-            T representative =
-                findDeterministicRepresentative(
-                    group, appView.graphLens(), classToFeatureSplitMap, synthetics);
-            // The representative is required to be the first element of the group.
-            group.remove(representative);
-            group.add(0, representative);
-            groupsPerPrefix
-                .computeIfAbsent(
-                    representative.getPrefixForExternalSyntheticType(), k -> new ArrayList<>())
-                .add(new EquivalenceGroup<>(representative, group));
-          }
-        });
+    for (List<EquivalenceGroup<T>> groups : groupsPerPotentialEquivalence) {
+      for (EquivalenceGroup<T> group : groups) {
+        groupsPerPrefix
+            .computeIfAbsent(
+                group.getRepresentative().getPrefixForExternalSyntheticType(),
+                k -> new ArrayList<>())
+            .add(group);
+      }
+    }
 
     Map<DexType, EquivalenceGroup<T>> equivalences = new IdentityHashMap<>();
     groupsPerPrefix.forEach(
@@ -523,6 +555,28 @@ public class SyntheticFinalization {
     return equivalences;
   }
 
+  private static <T extends SyntheticDefinition<?, T, ?>>
+      List<EquivalenceGroup<T>> computeEquivalenceGroups(
+          List<T> potentialEquivalence,
+          boolean intermediate,
+          GraphLens graphLens,
+          ClassToFeatureSplitMap classToFeatureSplitMap,
+          SyntheticItems syntheticItems) {
+    List<List<T>> groups =
+        groupEquivalent(
+            potentialEquivalence, intermediate, graphLens, classToFeatureSplitMap, syntheticItems);
+    List<EquivalenceGroup<T>> equivalenceGroups = new ArrayList<>(groups.size());
+    for (List<T> group : groups) {
+      T representative =
+          findDeterministicRepresentative(group, graphLens, classToFeatureSplitMap, syntheticItems);
+      // The representative is required to be the first element of the group.
+      group.remove(representative);
+      group.add(0, representative);
+      equivalenceGroups.add(new EquivalenceGroup<>(representative, group));
+    }
+    return equivalenceGroups;
+  }
+
   private static <T extends SyntheticDefinition<?, T, ?>> List<List<T>> groupEquivalent(
       List<T> potentialEquivalence,
       boolean intermediate,
@@ -612,7 +666,9 @@ public class SyntheticFinalization {
           DexItemFactory factory,
           GraphLens graphLens,
           ClassToFeatureSplitMap classToFeatureSplitMap,
-          SyntheticItems syntheticItems) {
+          SyntheticItems syntheticItems,
+          ExecutorService executorService)
+          throws ExecutionException {
     if (definitions.isEmpty()) {
       return Collections.emptyList();
     }
@@ -633,12 +689,21 @@ public class SyntheticFinalization {
               });
     }
     RepresentativeMap map = t -> syntheticTypes.contains(t) ? factory.voidType : t;
+    // Compute the hashes concurrently and group the definitions by their hash afterwards. The order
+    // within each group does not matter since the actual equivalence groups are sorted.
+    List<T> definitionsList = new ArrayList<>(definitions.values());
+    Collection<HashCode> hashes =
+        ThreadUtils.processItemsWithResults(
+            definitionsList,
+            definition ->
+                definition.computeHash(map, intermediate, classToFeatureSplitMap, syntheticItems),
+            executorService);
     Map<HashCode, List<T>> equivalences = new HashMap<>(definitions.size());
-    for (T definition : definitions.values()) {
-      HashCode hash =
-          definition.computeHash(map, intermediate, classToFeatureSplitMap, syntheticItems);
-      equivalences.computeIfAbsent(hash, k -> new ArrayList<>()).add(definition);
+    Iterator<T> definitionIterator = definitionsList.iterator();
+    for (HashCode hash : hashes) {
+      equivalences.computeIfAbsent(hash, k -> new ArrayList<>()).add(definitionIterator.next());
     }
+    assert !definitionIterator.hasNext();
     return equivalences.values();
   }
 
@@ -10,6 +10,7 @@ import com.android.tools.r8.DataResourceConsumer;
 import com.android.tools.r8.DesugarGraphConsumer;
 import com.android.tools.r8.DexFilePerClassFileConsumer;
 import com.android.tools.r8.DexIndexedConsumer;
+import com.android.tools.r8.DexSizeReportConsumer;
 import com.android.tools.r8.DumpOptions;
 import com.android.tools.r8.FeatureSplit;
 import com.android.tools.r8.ProgramConsumer;
@@ -71,6 +72,7 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -644,6 +646,11 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
    */
   public boolean enableInheritanceClassInDexDistributor = true;
 
+  // File holding the class to dex file assignment of a previous compilation. When set, the fill
+  // files distribution keeps classes in the dex file they were previously assigned to as long as
+  // the file is not filled, and writes the assignment of the current compilation back to it.
+  public Path dexDistributionFile = null;
+
   public LineNumberOptimization lineNumberOptimization = LineNumberOptimization.ON;
 
   public CallSiteOptimizationOptions callSiteOptimizationOptions() {
@@ -756,6 +763,11 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
   // If non-null, configuration must be passed to the consumer.
   public StringConsumer configurationConsumer = null;
 
+  // If null, no dex size report is collected.
+  // If non-null, a report is passed to the consumer for each written dex file. The consumer may be
+  // called concurrently for different files.
+  public DexSizeReportConsumer dexSizeReportConsumer = null;
+
   // If null, no desugaring of library is performed.
   // If non null it contains flags describing library desugaring.
   public DesugaredLibraryConfiguration desugaredLibraryConfiguration =
@@ -1289,6 +1301,7 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
     public boolean alwaysUseExistingAccessInfoCollectionsInMemberRebinding = true;
     public boolean alwaysUsePessimisticRegisterAllocation = false;
     public boolean enableCheckCastAndInstanceOfRemoval = true;
+    public boolean enableClassFootprintCache = true;
     public boolean enableDeadSwitchCaseElimination = true;
     public boolean enableInvokeSuperToInvokeVirtualRewriting = true;
     public boolean enableSwitchToIfRewriting = true;
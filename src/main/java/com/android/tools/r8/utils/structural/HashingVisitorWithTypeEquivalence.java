@@ -27,15 +27,30 @@ public class HashingVisitorWithTypeEquivalence extends HashingVisitor {
 
   public static <T> void run(
       T item, Hasher hasher, RepresentativeMap map, HashingAccept<T> hashingAccept) {
-    hashingAccept.acceptHashing(item, new HashingVisitorWithTypeEquivalence(hasher, map));
+    hashingAccept.acceptHashing(item, new HashingVisitorWithTypeEquivalence(hasher, map, false));
+  }
+
+  /**
+   * Hashes the item using the cached hash code of each string instead of its content.
+   *
+   * <p>This avoids rehashing the content of strings that occur many times, such as the descriptors
+   * of common types, but has a higher risk of collisions. It should therefore only be used for
+   * grouping items that are subsequently checked for equality.
+   */
+  public static <T> void runWithCachedStringHashes(
+      T item, Hasher hasher, RepresentativeMap map, HashingAccept<T> hashingAccept) {
+    hashingAccept.acceptHashing(item, new HashingVisitorWithTypeEquivalence(hasher, map, true));
   }
 
   private final Hasher hash;
   private final RepresentativeMap representatives;
+  private final boolean useCachedStringHashes;
 
-  private HashingVisitorWithTypeEquivalence(Hasher hash, RepresentativeMap representatives) {
+  private HashingVisitorWithTypeEquivalence(
+      Hasher hash, RepresentativeMap representatives, boolean useCachedStringHashes) {
     this.hash = hash;
     this.representatives = representatives;
+    this.useCachedStringHashes = useCachedStringHashes;
   }
 
   @Override
@@ -65,7 +80,11 @@ public class HashingVisitorWithTypeEquivalence extends HashingVisitor {
 
   @Override
   public void visitDexString(DexString string) {
-    hash.putBytes(string.content);
+    if (useCachedStringHashes) {
+      hash.putInt(string.hashCode());
+    } else {
+      hash.putBytes(string.content);
+    }
   }
 
   @Override
@@ -74,11 +74,15 @@ public interface StructuralItem<T extends StructuralItem<T>> extends Ordered<T>
   /**
    * Implementation of the default hashing with a type equivalence on the item.
    *
+   * <p>The strings of the item are hashed by their cached hash codes, so the result should only be
+   * used to group items that are subsequently compared for equivalence.
+   *
    * <p>This should *not* be overwritten, instead items should overwrite acceptHashing which will
    * ensure that the effect is in place for any HashingVisitor.
    */
   default void hashWithTypeEquivalence(Hasher hasher, RepresentativeMap map) {
-    HashingVisitorWithTypeEquivalence.run(self(), hasher, map, StructuralItem::acceptHashing);
+    HashingVisitorWithTypeEquivalence.runWithCachedStringHashes(
+        self(), hasher, map, StructuralItem::acceptHashing);
   }
 
   /** Default accept for hashing visitors. Override to change behavior. */
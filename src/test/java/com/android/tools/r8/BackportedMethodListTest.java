@@ -125,6 +125,31 @@ public class BackportedMethodListTest {
     }
   }
 
+  @Test
+  public void testRepeatedRuns() throws Exception {
+    // The backport tables are shared between runs, so a second run must give the same list.
+    for (int apiLevel = 1; apiLevel < AndroidApiLevel.LATEST.getLevel(); apiLevel++) {
+      List<String> first = runWithConsumer(apiLevel);
+      List<String> second = runWithConsumer(apiLevel);
+      assertEquals(first, second);
+      checkContent(apiLevel, second);
+    }
+  }
+
+  private List<String> runWithConsumer(int apiLevel) throws Exception {
+    ListStringConsumer consumer = new ListStringConsumer();
+    BackportedMethodListCommand.Builder builder =
+        BackportedMethodListCommand.builder().setMinApiLevel(apiLevel).setConsumer(consumer);
+    if (mode == Mode.LIBRARY) {
+      builder.addLibraryFiles(ToolHelper.getAndroidJar(AndroidApiLevel.P.getLevel()));
+    } else if (mode == Mode.LIBRARY_DESUGAR) {
+      addLibraryDesugaring(builder);
+    }
+    BackportedMethodList.run(builder.build());
+    assertTrue(consumer.finished);
+    return consumer.strings;
+  }
+
   @Test
   public void testFullList() throws Exception {
     Assume.assumeTrue(mode == Mode.NO_LIBRARY);
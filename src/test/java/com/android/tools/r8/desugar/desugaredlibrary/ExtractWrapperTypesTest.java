@@ -39,6 +39,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.junit.Test;
@@ -278,7 +280,12 @@ public class ExtractWrapperTypesTest extends TestBase {
             ToolHelper.getDesugarLibJsonForTesting().toString(),
             ToolHelper.getDesugarJDKLibs().toString(),
             out.toString());
-    desugaredApi.run(targetApi.getLevel());
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      desugaredApi.run(targetApi.getLevel(), executorService);
+    } finally {
+      executorService.shutdown();
+    }
     return new CodeInspector(
         out.resolve("compile_api_level_" + targetApi.getLevel())
             .resolve("desugared_apis_" + targetApi.getLevel() + "_" + minApi.getLevel() + ".jar"));
@@ -0,0 +1,89 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.ByteDataView;
+import com.android.tools.r8.DexIndexedConsumer;
+import com.android.tools.r8.DiagnosticsHandler;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.ToolHelper;
+import com.android.tools.r8.references.Reference;
+import com.android.tools.r8.utils.AndroidApiLevel;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/** Checks that distributing classes with and without the footprint cache gives the same output. */
+@RunWith(Parameterized.class)
+public class ClassFootprintCacheTest extends TestBase {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withNoneRuntime().build();
+  }
+
+  public ClassFootprintCacheTest(TestParameters parameters) {
+    parameters.assertNoneRuntime();
+  }
+
+  @Test
+  public void testNativeMultidex() throws Exception {
+    assertSameOutput(compile(AndroidApiLevel.L, false), compile(AndroidApiLevel.L, true));
+  }
+
+  @Test
+  public void testLegacyMultidex() throws Exception {
+    // A main dex list makes the legacy multidex distribution use the inheritance aware
+    // distributor.
+    assertSameOutput(compile(AndroidApiLevel.K, false), compile(AndroidApiLevel.K, true));
+  }
+
+  private static void assertSameOutput(
+      SortedMap<Integer, byte[]> expected, SortedMap<Integer, byte[]> actual) {
+    assertTrue(expected.size() > 1);
+    assertEquals(expected.keySet(), actual.keySet());
+    for (Map.Entry<Integer, byte[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()));
+    }
+  }
+
+  private SortedMap<Integer, byte[]> compile(AndroidApiLevel minApi, boolean enableCache)
+      throws Exception {
+    SortedMap<Integer, byte[]> files = new ConcurrentSkipListMap<>();
+    testForD8()
+        .addProgramFiles(ToolHelper.R8_WITH_RELOCATED_DEPS_JAR)
+        .addLibraryFiles(ToolHelper.getMostRecentAndroidJar())
+        .applyIf(
+            minApi.getLevel() < AndroidApiLevel.L.getLevel(),
+            builder ->
+                builder.addMainDexListClassReferences(
+                    Reference.classFromTypeName("com.android.tools.r8.R8")))
+        .setMinApi(minApi)
+        .addOptionsModification(
+            options -> options.testing.enableClassFootprintCache = enableCache)
+        .setProgramConsumer(
+            new DexIndexedConsumer.ForwardingConsumer(null) {
+              @Override
+              public void accept(
+                  int fileIndex,
+                  ByteDataView data,
+                  Set<String> descriptors,
+                  DiagnosticsHandler handler) {
+                files.put(fileIndex, data.copyByteData());
+              }
+            })
+        .compile();
+    return files;
+  }
+}
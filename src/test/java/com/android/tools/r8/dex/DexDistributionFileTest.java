@@ -0,0 +1,116 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import static com.android.tools.r8.DiagnosticsMatcher.diagnosticMessage;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.ByteDataView;
+import com.android.tools.r8.DexIndexedConsumer;
+import com.android.tools.r8.DiagnosticsHandler;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.utils.AndroidApiLevel;
+import com.android.tools.r8.utils.FileUtils;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/** Checks that a dex distribution file keeps classes in their previous dex files. */
+@RunWith(Parameterized.class)
+public class DexDistributionFileTest extends TestBase {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withNoneRuntime().build();
+  }
+
+  public DexDistributionFileTest(TestParameters parameters) {
+    parameters.assertNoneRuntime();
+  }
+
+  @Test
+  public void test() throws Exception {
+    Path distributionFile = temp.getRoot().toPath().resolve("distribution.txt");
+    Collection<Class<?>> classes = ImmutableList.of(A.class, B.class, C.class, D.class, E.class);
+    Map<String, Integer> previous = compile(classes, distributionFile);
+    assertTrue(previous.values().stream().distinct().count() > 1);
+
+    // Adding a class that is ordered before the existing ones must not move them.
+    Map<String, Integer> current =
+        compile(
+            ImmutableList.<Class<?>>builder().addAll(classes).add(Added.class).build(),
+            distributionFile);
+    for (Class<?> clazz : classes) {
+      assertEquals(previous.get(descriptor(clazz)), current.get(descriptor(clazz)));
+    }
+    assertTrue(current.containsKey(descriptor(Added.class)));
+  }
+
+  @Test
+  public void testMalformed() throws Exception {
+    Path distributionFile = temp.getRoot().toPath().resolve("distribution.txt");
+    FileUtils.writeTextFile(distributionFile, "0 " + A.class.getTypeName(), "x");
+    testForD8()
+        .addProgramClasses(A.class, B.class)
+        .setMinApi(AndroidApiLevel.L)
+        .apply(builder -> builder.getBuilder().setDexDistributionFile(distributionFile))
+        .setProgramConsumer(createConsumer(new ConcurrentHashMap<>()))
+        .compileWithExpectedDiagnostics(
+            diagnostics ->
+                diagnostics
+                    .assertOnlyWarnings()
+                    .assertWarningsMatch(
+                        diagnosticMessage(
+                            containsString("Expected a dex file index and a class name"))));
+    // The malformed file is replaced by the assignment of the compilation.
+    assertEquals(
+        ImmutableList.of("0 " + A.class.getTypeName(), "0 " + B.class.getTypeName()),
+        FileUtils.readAllLines(distributionFile));
+  }
+
+  private Map<String, Integer> compile(Collection<Class<?>> classes, Path distributionFile)
+      throws Exception {
+    Map<String, Integer> fileIndices = new ConcurrentHashMap<>();
+    testForD8()
+        .addProgramClasses(classes)
+        .setMinApi(AndroidApiLevel.L)
+        .apply(builder -> builder.getBuilder().setDexDistributionFile(distributionFile))
+        .addOptionsModification(options -> options.testing.limitNumberOfClassesPerDex = 2)
+        .setProgramConsumer(createConsumer(fileIndices))
+        .compile();
+    return fileIndices;
+  }
+
+  private static DexIndexedConsumer createConsumer(Map<String, Integer> fileIndices) {
+    return new DexIndexedConsumer.ForwardingConsumer(null) {
+      @Override
+      public void accept(
+          int fileIndex, ByteDataView data, Set<String> descriptors, DiagnosticsHandler handler) {
+        descriptors.forEach(descriptor -> fileIndices.put(descriptor, fileIndex));
+      }
+    };
+  }
+
+  static class A {}
+
+  static class Added {}
+
+  static class B {}
+
+  static class C {}
+
+  static class D {}
+
+  static class E {}
+}
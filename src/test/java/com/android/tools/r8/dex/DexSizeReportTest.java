@@ -0,0 +1,154 @@
+// Copyright (c) 2021, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import static com.android.tools.r8.dex.Constants.CLASS_DEFS_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.FIELD_IDS_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.FILE_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.HEADER_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.METHOD_IDS_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.PROTO_IDS_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.STRING_IDS_SIZE_OFFSET;
+import static com.android.tools.r8.dex.Constants.TYPE_IDS_SIZE_OFFSET;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.ByteDataView;
+import com.android.tools.r8.DexIndexedConsumer;
+import com.android.tools.r8.DiagnosticsHandler;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.dex.DexSizeReport.ClassSize;
+import com.android.tools.r8.dex.DexSizeReport.Section;
+import com.android.tools.r8.utils.AndroidApiLevel;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class DexSizeReportTest extends TestBase {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withNoneRuntime().build();
+  }
+
+  public DexSizeReportTest(TestParameters parameters) {
+    parameters.assertNoneRuntime();
+  }
+
+  @Test
+  public void test() throws Exception {
+    List<DexSizeReport> reports = new ArrayList<>();
+    List<byte[]> dexFiles = new ArrayList<>();
+    testForD8()
+        .addInnerClasses(DexSizeReportTest.class)
+        .setMinApi(AndroidApiLevel.B)
+        .apply(
+            builder ->
+                builder
+                    .getBuilder()
+                    .setDexSizeReportConsumer((report, handler) -> reports.add(report)))
+        .setProgramConsumer(
+            new DexIndexedConsumer.ForwardingConsumer(null) {
+              @Override
+              public void accept(
+                  int fileIndex,
+                  ByteDataView data,
+                  Set<String> descriptors,
+                  DiagnosticsHandler handler) {
+                dexFiles.add(data.copyByteData());
+              }
+            })
+        .compile();
+    assertEquals(1, reports.size());
+    assertEquals(1, dexFiles.size());
+    DexSizeReport report = reports.get(0);
+    assertEquals(0, report.getFileId());
+
+    // Check the fixed size sections against the sizes and offsets in the header of the written
+    // file.
+    ByteBuffer header = ByteBuffer.wrap(dexFiles.get(0)).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(header.getInt(FILE_SIZE_OFFSET), report.getFileSize());
+    assertSection(report, "header_item", 0, header.getInt(HEADER_SIZE_OFFSET), 1);
+    assertSection(report, "string_id_item", header, STRING_IDS_SIZE_OFFSET, 4);
+    assertSection(report, "type_id_item", header, TYPE_IDS_SIZE_OFFSET, 4);
+    assertSection(report, "proto_id_item", header, PROTO_IDS_SIZE_OFFSET, 12);
+    assertSection(report, "field_id_item", header, FIELD_IDS_SIZE_OFFSET, 8);
+    assertSection(report, "method_id_item", header, METHOD_IDS_SIZE_OFFSET, 8);
+    assertSection(report, "class_def_item", header, CLASS_DEFS_SIZE_OFFSET, 32);
+
+    assertEquals(1, (int) report.getPoolSizes().get(DexSizeReport.CLASSES));
+    assertEquals(
+        header.getInt(STRING_IDS_SIZE_OFFSET),
+        (int) report.getPoolSizes().get(DexSizeReport.STRINGS));
+    assertEquals(
+        VirtualFile.MAX_ENTRIES - report.getPoolSizes().get(DexSizeReport.METHODS),
+        report.getHeadroom(DexSizeReport.METHODS));
+
+    ClassSize mainSize = report.getClassSizes().get(descriptor(Main.class));
+    assertTrue(mainSize.getCodeSize() > 0);
+    assertTrue(mainSize.getClassDataSize() > 0);
+
+    // The sizes of all classes and the padding add up to the size of the code and class data
+    // sections.
+    int codeSize = report.getCodePaddingSize();
+    int classDataSize = report.getClassDataPaddingSize();
+    for (ClassSize classSize : report.getClassSizes().values()) {
+      codeSize += classSize.getCodeSize();
+      classDataSize += classSize.getClassDataSize();
+    }
+    assertEquals(getSection(report, DexSizeReport.CODE_SECTION).getSize(), codeSize);
+    assertEquals(getSection(report, DexSizeReport.CLASS_DATA_SECTION).getSize(), classDataSize);
+    // Code items are 4 byte aligned, so each item is preceded by at most 3 bytes of padding.
+    assertTrue(
+        report.getCodePaddingSize()
+            <= 3 * getSection(report, DexSizeReport.CODE_SECTION).getItemCount() + 3);
+    assertTrue(report.toJsonString().contains(descriptor(Main.class)));
+  }
+
+  private static void assertSection(
+      DexSizeReport report, String name, ByteBuffer header, int sizeOffset, int itemSize) {
+    // The offset of an id section follows its size in the header.
+    int itemCount = header.getInt(sizeOffset);
+    int offset = header.getInt(sizeOffset + 4);
+    assertSection(report, name, offset, itemCount * itemSize, itemCount);
+  }
+
+  private static void assertSection(
+      DexSizeReport report, String name, int offset, int size, int itemCount) {
+    Section section = getSection(report, name);
+    if (itemCount == 0) {
+      // Empty sections are not reported.
+      assertNull(name, section);
+      return;
+    }
+    assertNotNull(name, section);
+    assertEquals(name, itemCount, section.getItemCount());
+    assertEquals(name, offset, section.getOffset());
+    assertEquals(name, size, section.getSize());
+  }
+
+  private static Section getSection(DexSizeReport report, String name) {
+    return report.getSections().stream()
+        .filter(candidate -> candidate.getName().equals(name))
+        .findFirst()
+        .orElse(null);
+  }
+
+  static class Main {
+
+    public static void main(String[] args) {
+      System.out.println("Hello, world!");
+    }
+  }
+}
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import com.android.tools.r8.Diagnostic;
 import com.android.tools.r8.TestBase;
 import com.android.tools.r8.TestParameters;
 import com.android.tools.r8.TestParametersCollection;
@@ -55,6 +56,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -3212,4 +3215,70 @@ public class ProguardConfigurationParserTest extends TestBase {
       }
     }
   }
+  @Test
+  public void parseConcurrently() throws Exception {
+    List<ProguardConfigurationSource> sources =
+        ImmutableList.of(
+            new ProguardConfigurationSourceFile(Paths.get(PROGUARD_SPEC_FILE)),
+            new ProguardConfigurationSourceFile(Paths.get(INCLUDING)),
+            new ProguardConfigurationSourceFile(Paths.get(PACKAGE_OBFUSCATION_6)),
+            new ProguardConfigurationSourceFile(Paths.get(ADAPT_KOTLIN_METADATA)),
+            new ProguardConfigurationSourceFile(Paths.get(PACKAGE_OBFUSCATION_5)),
+            new ProguardConfigurationSourceFile(Paths.get(SEEDS)));
+    KeepingDiagnosticHandler sequentialHandler = new KeepingDiagnosticHandler();
+    ProguardConfigurationParser sequentialParser =
+        new ProguardConfigurationParser(new DexItemFactory(), new Reporter(sequentialHandler));
+    sequentialParser.parse(sources);
+    ProguardConfiguration expected = sequentialParser.getConfig();
+
+    KeepingDiagnosticHandler concurrentHandler = new KeepingDiagnosticHandler();
+    ProguardConfigurationParser concurrentParser =
+        new ProguardConfigurationParser(new DexItemFactory(), new Reporter(concurrentHandler));
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      concurrentParser.parse(sources, executorService);
+    } finally {
+      executorService.shutdown();
+    }
+    ProguardConfiguration actual = concurrentParser.getConfig();
+
+    assertEquals(expected.getParsedConfiguration(), actual.getParsedConfiguration());
+    assertEquals(
+        expected.getRules().stream().map(Object::toString).collect(Collectors.toList()),
+        actual.getRules().stream().map(Object::toString).collect(Collectors.toList()));
+    assertEquals(expected.getPackageObfuscationMode(), actual.getPackageObfuscationMode());
+    assertEquals(expected.getPackagePrefix(), actual.getPackagePrefix());
+    assertEquals(expected.getSeedFile(), actual.getSeedFile());
+    assertEquals(
+        getDiagnosticMessages(sequentialHandler.infos),
+        getDiagnosticMessages(concurrentHandler.infos));
+    assertEquals(
+        getDiagnosticMessages(sequentialHandler.warnings),
+        getDiagnosticMessages(concurrentHandler.warnings));
+  }
+
+  @Test
+  public void parseConcurrentlyRepackageClassesAfterFlattenPackageHierarchy() throws Exception {
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      parser.parse(
+          ImmutableList.of(
+              createConfigurationForTesting(ImmutableList.of("-flattenpackagehierarchy 'p'")),
+              createConfigurationForTesting(ImmutableList.of("-repackageclasses 'top'"))),
+          executorService);
+    } finally {
+      executorService.shutdown();
+    }
+    assertEquals(1, handler.warnings.size());
+    assertEquals(
+        "Option -repackageclasses overrides -flattenpackagehierarchy",
+        handler.warnings.get(0).getDiagnosticMessage());
+    ProguardConfiguration config = parser.getConfig();
+    assertEquals(PackageObfuscationMode.REPACKAGE, config.getPackageObfuscationMode());
+    assertEquals("top", config.getPackagePrefix());
+  }
+
+  private static List<String> getDiagnosticMessages(List<Diagnostic> diagnostics) {
+    return diagnostics.stream().map(Diagnostic::getDiagnosticMessage).collect(Collectors.toList());
+  }
 }
\ No newline at end of file